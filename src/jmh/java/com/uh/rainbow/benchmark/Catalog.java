@@ -0,0 +1,91 @@
+package com.uh.rainbow.benchmark;
+
+import com.uh.rainbow.entities.Meeting;
+import com.uh.rainbow.entities.Section;
+import com.uh.rainbow.util.SourceURL;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.text.ParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * <b>File:</b> Catalog.java
+ * <p>
+ * <b>Description:</b> Synthetic sections and recorded UH pages shared by the benchmarks
+ *
+ * @author Derek Garcia
+ */
+public class Catalog {
+
+    private static final String[] DAYS = {"MW", "TR", "MWF", "F", "TBA"};
+    private static final String[] TIMES = {"0800-0850a", "0900-1015a", "1030-1145a", "1200-0115p", "0130-0245p", "0300-0415p", "0430-0545p", "TBA"};
+    private static final String[] DATES = {"08/26-12/20", "08/26-10/11", "10/14-12/20"};
+    private static final String[] PAGE_CRNS = {"75380", "75381", "75400"};
+
+    /**
+     * Create a catalog of courses with sections spread across the week. The same arguments always
+     * create the same catalog
+     *
+     * @param numCourses        Number of courses
+     * @param sectionsPerCourse Number of sections per course
+     * @return List of sections
+     * @throws ParseException Fail to parse time
+     */
+    public static List<Section> create(int numCourses, int sectionsPerCourse) throws ParseException {
+        List<Section> sections = new ArrayList<>();
+        int crn = 10000;
+        for (int course = 0; course < numCourses; course++) {
+            String cid = "ICS %03d".formatted(100 + course);
+            for (int sid = 0; sid < sectionsPerCourse; sid++) {
+                Section section = new Section(new SourceURL("MAN", "202510", "ICS"), crn++, cid, "%03d".formatted(sid + 1), cid, "3", "foo", 0, 10);
+                section.addMeetings(Meeting.createMeetings(
+                        DAYS[(course + sid) % DAYS.length],
+                        TIMES[(course * 3 + sid) % TIMES.length],
+                        "POST 318",
+                        DATES[(course + sid * 2) % DATES.length]));
+                sections.add(section);
+            }
+        }
+        return sections;
+    }
+
+    /**
+     * Load a recorded UH subject page
+     *
+     * @param name Name of page resource
+     * @return HTML of page
+     * @throws IOException Fail to read page
+     */
+    public static String loadPage(String name) throws IOException {
+        try (InputStream in = Objects.requireNonNull(Catalog.class.getResourceAsStream("/" + name))) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    /**
+     * Grow a recorded UH subject page by repeating the rows of its table, giving each copy unique CRNs
+     *
+     * @param page    HTML of page
+     * @param repeats Number of copies of the table rows
+     * @return HTML of page
+     */
+    public static String repeatRows(String page, int repeats) {
+        // Keep the header row, repeat everything after it up to the end of the table
+        int start = page.indexOf("<tr>", page.indexOf("</tr>"));
+        int end = page.lastIndexOf("</tbody>");
+        String rows = page.substring(start, end);
+
+        StringBuilder html = new StringBuilder(page.substring(0, start));
+        for (int i = 0; i < repeats; i++) {
+            String copy = rows;
+            for (int c = 0; c < PAGE_CRNS.length; c++)
+                copy = copy.replace(PAGE_CRNS[c], String.valueOf(20000 + i * PAGE_CRNS.length + c));
+            html.append(copy);
+        }
+        return html.append(page.substring(end)).toString();
+    }
+}
@@ -0,0 +1,57 @@
+package com.uh.rainbow.benchmark;
+
+import com.uh.rainbow.entities.Meeting;
+import com.uh.rainbow.entities.Section;
+import org.openjdk.jmh.annotations.*;
+
+import java.text.ParseException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <b>File:</b> ConflictBenchmark.java
+ * <p>
+ * <b>Description:</b> Benchmarks for checking if meetings and sections overlap
+ *
+ * @author Derek Garcia
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ConflictBenchmark {
+
+    private Meeting meeting;
+    private Meeting overlapping;
+    private Meeting otherDay;
+    private List<Section> sections;
+
+    @Setup
+    public void setup() throws ParseException {
+        this.meeting = Meeting.createMeetings("M", "0900-1015a", "POST 318", "08/26-12/20").get(0);
+        this.overlapping = Meeting.createMeetings("M", "1000-1115a", "POST 318", "08/26-12/20").get(0);
+        this.otherDay = Meeting.createMeetings("T", "0900-1015a", "POST 318", "08/26-12/20").get(0);
+        this.sections = Catalog.create(10, 10);
+    }
+
+    @Benchmark
+    public boolean meeting_overlapping() {
+        return this.meeting.conflictsWith(this.overlapping);
+    }
+
+    @Benchmark
+    public boolean meeting_other_day() {
+        return this.meeting.conflictsWith(this.otherDay);
+    }
+
+    @Benchmark
+    public int section_all_pairs() {
+        int numConflicts = 0;
+        for (Section a : this.sections) {
+            for (Section b : this.sections) {
+                if (a.conflictsWith(b))
+                    numConflicts++;
+            }
+        }
+        return numConflicts;
+    }
+}
@@ -0,0 +1,84 @@
+package com.uh.rainbow.benchmark;
+
+import com.uh.rainbow.entities.Section;
+import com.uh.rainbow.util.SourceURL;
+import com.uh.rainbow.util.cache.SectionTable;
+import com.uh.rainbow.util.filter.CourseFilter;
+import org.openjdk.jmh.annotations.*;
+
+import java.text.ParseException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <b>File:</b> CourseFilterBenchmark.java
+ * <p>
+ * <b>Description:</b> Benchmarks for filtering a catalog of sections, as objects and as a column store
+ *
+ * @author Derek Garcia
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class CourseFilterBenchmark {
+
+    private List<Section> sections;
+    private SectionTable table;
+    private CourseFilter empty;
+    private CourseFilter full;
+
+    @Setup
+    public void setup() throws ParseException {
+        this.sections = Catalog.create(50, 10);
+        this.table = new SectionTable(new SourceURL("MAN", "202510", "ICS"), this.sections);
+        this.empty = new CourseFilter.Builder().build();
+        this.full = new CourseFilter.Builder()
+                .setCourseNumbers(List.of("1**", "!105"))
+                .setDays(List.of("!F"))
+                .setStartAfter("0830")
+                .setEndBefore("1700")
+                .setInstructors(List.of("foo"))
+                .setKeywords(List.of("ics"))
+                .build();
+    }
+
+    @Benchmark
+    public int valid_sections_no_filter() {
+        int numValid = 0;
+        for (Section section : this.sections) {
+            if (this.empty.validSection(section))
+                numValid++;
+        }
+        return numValid;
+    }
+
+    @Benchmark
+    public int valid_sections_all_filters() {
+        int numValid = 0;
+        for (Section section : this.sections) {
+            if (this.full.validSection(section))
+                numValid++;
+        }
+        return numValid;
+    }
+
+    @Benchmark
+    public int valid_rows_no_filter() {
+        int numValid = 0;
+        for (int row = 0; row < this.table.size(); row++) {
+            if (this.empty.validSection(this.table, row))
+                numValid++;
+        }
+        return numValid;
+    }
+
+    @Benchmark
+    public int valid_rows_all_filters() {
+        int numValid = 0;
+        for (int row = 0; row < this.table.size(); row++) {
+            if (this.full.validSection(this.table, row))
+                numValid++;
+        }
+        return numValid;
+    }
+}
@@ -0,0 +1,76 @@
+package com.uh.rainbow.benchmark;
+
+import com.uh.rainbow.exception.SectionNotFoundException;
+import com.uh.rainbow.util.ElementRowSource;
+import com.uh.rainbow.util.RowCursor;
+import com.uh.rainbow.util.RowSource;
+import com.uh.rainbow.util.SourceURL;
+import com.uh.rainbow.util.StreamingRowSource;
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <b>File:</b> RowCursorBenchmark.java
+ * <p>
+ * <b>Description:</b> Benchmarks for parsing the sections of recorded UH subject pages
+ *
+ * @author Derek Garcia
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class RowCursorBenchmark {
+
+    private static final SourceURL SOURCE = new SourceURL("MAN", "202510", "ICS");
+
+    // Each copy of the recorded page rows has 3 sections
+    @Param({"1", "100", "1000"})
+    public int repeats;
+
+    private String html;
+    private Document document;
+
+    @Setup
+    public void setup() throws IOException {
+        this.html = Catalog.repeatRows(Catalog.loadPage("uh-subject-page.html"), this.repeats);
+        this.document = Jsoup.parse(this.html, SOURCE.toString());
+    }
+
+    /**
+     * Parse and hash every section of the table
+     *
+     * @param rows      Rows of the table
+     * @param blackhole Blackhole to consume sections
+     * @throws SectionNotFoundException Cursor found a section it could not parse
+     */
+    private static void parseAll(RowSource rows, Blackhole blackhole) throws SectionNotFoundException {
+        RowCursor cursor = new RowCursor(SOURCE, rows);
+        while (cursor.findSection()) {
+            blackhole.consume(cursor.hashSection());
+            blackhole.consume(cursor.getSection());
+        }
+    }
+
+    @Benchmark
+    public void cursor_over_parsed_document(Blackhole blackhole) throws SectionNotFoundException {
+        parseAll(new ElementRowSource(Objects.requireNonNull(this.document.selectFirst("tbody")).select("tr")), blackhole);
+    }
+
+    @Benchmark
+    public void cursor_with_document_parse(Blackhole blackhole) throws SectionNotFoundException {
+        Document document = Jsoup.parse(this.html, SOURCE.toString());
+        parseAll(new ElementRowSource(Objects.requireNonNull(document.selectFirst("tbody")).select("tr")), blackhole);
+    }
+
+    @Benchmark
+    public void cursor_with_streaming_parse(Blackhole blackhole) throws SectionNotFoundException {
+        parseAll(new StreamingRowSource(new StringReader(this.html), SOURCE.toString()), blackhole);
+    }
+}
@@ -0,0 +1,51 @@
+package com.uh.rainbow.benchmark;
+
+import com.uh.rainbow.entities.PotentialSchedule;
+import com.uh.rainbow.entities.Section;
+import com.uh.rainbow.service.SchedulerService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.logging.LogLevel;
+import org.springframework.boot.logging.LoggingSystem;
+
+import java.text.ParseException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <b>File:</b> SchedulerBenchmark.java
+ * <p>
+ * <b>Description:</b> Benchmarks for generating schedules from synthetic catalogs of increasing size
+ *
+ * @author Derek Garcia
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class SchedulerBenchmark {
+
+    @Param({"3", "5", "7"})
+    public int numCourses;
+
+    @Param({"4", "6"})
+    public int sectionsPerCourse;
+
+    private final SchedulerService schedulerService = new SchedulerService();
+    private List<Section> sections;
+
+    @Setup
+    public void setup() throws ParseException {
+        // Only measure the search, not formatting and writing the per request log lines
+        LoggingSystem.get(SchedulerBenchmark.class.getClassLoader()).setLogLevel(SchedulerService.class.getName(), LogLevel.WARN);
+        this.sections = Catalog.create(this.numCourses, this.sectionsPerCourse);
+    }
+
+    @Benchmark
+    public List<PotentialSchedule> schedule() {
+        return this.schedulerService.schedule(this.sections);
+    }
+
+    @Benchmark
+    public List<PotentialSchedule> schedule_parallel() {
+        return this.schedulerService.schedule(this.sections, true);
+    }
+}
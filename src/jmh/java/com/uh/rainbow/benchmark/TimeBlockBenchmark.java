@@ -0,0 +1,42 @@
+package com.uh.rainbow.benchmark;
+
+import com.uh.rainbow.entities.Meeting;
+import com.uh.rainbow.entities.time.TimeBlock;
+import org.openjdk.jmh.annotations.*;
+
+import java.text.ParseException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <b>File:</b> TimeBlockBenchmark.java
+ * <p>
+ * <b>Description:</b> Benchmarks for parsing UH time and date strings
+ *
+ * @author Derek Garcia
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class TimeBlockBenchmark {
+
+    @Benchmark
+    public TimeBlock morning() throws ParseException {
+        return new TimeBlock("0900-1015a", "08/26-12/20");
+    }
+
+    @Benchmark
+    public TimeBlock afternoon() throws ParseException {
+        return new TimeBlock("0130-0245p", "08/26-12/20");
+    }
+
+    @Benchmark
+    public TimeBlock tba() throws ParseException {
+        return new TimeBlock("TBA", "08/26-12/20");
+    }
+
+    @Benchmark
+    public List<Meeting> meetings() throws ParseException {
+        return Meeting.createMeetings("MWF", "0130-0245p", "POST 318", "08/26-12/20");
+    }
+}
@@ -0,0 +1,25 @@
+package com.uh.rainbow.config;
+
+import com.uh.rainbow.service.HTMLParserService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * <b>File:</b> ParserConfig.java
+ * <p>
+ * <b>Description:</b> Applies the rainbow.parser properties to the {@link HTMLParserService}
+ *
+ * @author Derek Garcia
+ */
+@Configuration
+public class ParserConfig {
+
+    /**
+     * Configure how UH pages are parsed
+     *
+     * @param streaming True to read course tables row by row, false to parse the whole page first
+     */
+    public ParserConfig(@Value("${rainbow.parser.streaming:false}") boolean streaming) {
+        HTMLParserService.setStreamingParser(streaming);
+    }
+}
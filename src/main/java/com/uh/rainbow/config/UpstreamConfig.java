@@ -0,0 +1,56 @@
+package com.uh.rainbow.config;
+
+import com.uh.rainbow.util.SourceURL;
+import com.uh.rainbow.util.http.CircuitBreaker;
+import com.uh.rainbow.util.http.ConcurrencyLimitedFetcher;
+import com.uh.rainbow.util.http.HttpClientFetcher;
+import com.uh.rainbow.util.http.TokenBucket;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * <b>File:</b> UpstreamConfig.java
+ * <p>
+ * <b>Description:</b> Applies the rainbow.upstream properties to the fetcher used by every {@link SourceURL}
+ *
+ * @author Derek Garcia
+ */
+@Configuration
+public class UpstreamConfig {
+
+    /**
+     * Configure how UH is queried
+     *
+     * @param host             Scheme and host to send requests to
+     * @param connectTimeout   Max time to wait to connect
+     * @param requestTimeout   Max time to wait for a response
+     * @param maxRetries       Number of times to retry a failed request
+     * @param retryBackoff     Time to wait before the first retry, doubled every retry
+     * @param maxConcurrent    Max number of requests in flight to UH at once
+     * @param rateLimit        Max requests per second to UH
+     * @param burst            Max requests that can be sent at once before being rate limited
+     * @param breakerThreshold Number of consecutive failures before rejecting requests
+     * @param breakerOpen      Time to reject requests before trying again
+     */
+    public UpstreamConfig(
+            @Value("${rainbow.upstream.host:" + SourceURL.DEFAULT_HOST + "}") String host,
+            @Value("${rainbow.upstream.connect-timeout:PT5S}") Duration connectTimeout,
+            @Value("${rainbow.upstream.request-timeout:PT15S}") Duration requestTimeout,
+            @Value("${rainbow.upstream.max-retries:2}") int maxRetries,
+            @Value("${rainbow.upstream.retry-backoff:PT0.25S}") Duration retryBackoff,
+            @Value("${rainbow.upstream.max-concurrent:16}") int maxConcurrent,
+            @Value("${rainbow.upstream.rate-limit:10}") double rateLimit,
+            @Value("${rainbow.upstream.burst:20}") int burst,
+            @Value("${rainbow.upstream.breaker.failure-threshold:5}") int breakerThreshold,
+            @Value("${rainbow.upstream.breaker.open-duration:PT30S}") Duration breakerOpen) {
+        SourceURL.setHost(host);
+        SourceURL.setFetcher(new ConcurrencyLimitedFetcher(
+                new HttpClientFetcher(connectTimeout, requestTimeout), maxConcurrent
+        ));
+        SourceURL.setRetryPolicy(maxRetries, retryBackoff);
+        SourceURL.setRateLimiter(new TokenBucket(rateLimit, burst));
+        SourceURL.setCircuitBreaker(new CircuitBreaker(breakerThreshold, breakerOpen));
+    }
+}
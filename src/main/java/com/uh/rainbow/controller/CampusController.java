@@ -2,7 +2,7 @@ package com.uh.rainbow.controller;
 
 import com.uh.rainbow.dto.course.CourseDTO;
 import com.uh.rainbow.dto.response.*;
-import com.uh.rainbow.entities.Section;
+import com.uh.rainbow.exception.UpstreamUnavailableException;
 import com.uh.rainbow.service.HTMLParserService;
 import com.uh.rainbow.services.DTOMapperService;
 import com.uh.rainbow.util.SourceURL;
@@ -10,11 +10,13 @@ import com.uh.rainbow.util.filter.CourseFilter;
 import com.uh.rainbow.util.logging.Logger;
 import com.uh.rainbow.util.logging.MessageBuilder;
 import org.jsoup.HttpStatusException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.io.IOException;
+import java.time.Duration;
 import java.util.List;
 
 /**
@@ -51,6 +53,10 @@ public class CampusController {
             // Report and return html access failure
             LOGGER.reportHTTPAccessError(MessageBuilder.Type.INST, e);
             return new ResponseEntity<>(new BadAccessResponseDTO(e), HttpStatus.BAD_REQUEST);
+        } catch (UpstreamUnavailableException e) {
+            // UH unavailable and nothing cached, fail fast
+            LOGGER.warn(new MessageBuilder(MessageBuilder.Type.INST).addDetails(e));
+            return new ResponseEntity<>(new APIErrorResponseDTO(e), HttpStatus.SERVICE_UNAVAILABLE);
         } catch (IOException e) {
             // Internal server error
             LOGGER.error(new MessageBuilder(MessageBuilder.Type.INST).addDetails(e));
@@ -78,6 +84,10 @@ public class CampusController {
             // Report and return html access failure
             LOGGER.reportHTTPAccessError(MessageBuilder.Type.TERM, e);
             return new ResponseEntity<>(new BadAccessResponseDTO(e), HttpStatus.BAD_REQUEST);
+        } catch (UpstreamUnavailableException e) {
+            // UH unavailable and nothing cached, fail fast
+            LOGGER.warn(new MessageBuilder(MessageBuilder.Type.TERM).addDetails(e));
+            return new ResponseEntity<>(new APIErrorResponseDTO(e), HttpStatus.SERVICE_UNAVAILABLE);
         } catch (IOException e) {
             // Internal server error
             LOGGER.error(new MessageBuilder(MessageBuilder.Type.TERM).addDetails(e));
@@ -106,6 +116,10 @@ public class CampusController {
             // Report and return html access failure
             LOGGER.reportHTTPAccessError(MessageBuilder.Type.SUBJECT, e);
             return new ResponseEntity<>(new BadAccessResponseDTO(e), HttpStatus.BAD_REQUEST);
+        } catch (UpstreamUnavailableException e) {
+            // UH unavailable and nothing cached, fail fast
+            LOGGER.warn(new MessageBuilder(MessageBuilder.Type.SUBJECT).addDetails(e));
+            return new ResponseEntity<>(new APIErrorResponseDTO(e), HttpStatus.SERVICE_UNAVAILABLE);
         } catch (IOException e) {
             // Internal server error
             LOGGER.error(new MessageBuilder(MessageBuilder.Type.SUBJECT).addDetails(e));
@@ -160,16 +174,21 @@ public class CampusController {
                     .setKeywords(keyword)
                     .build();
             // Get all courses for subject
-            List<Section> sections = this.htmlParserService.parseSections(cf, instID, termID, subjectID);
-            List<CourseDTO> courseDTOs = this.dtoMapperService.toCourseDTOs(sections);
+            HTMLParserService.AgedSections sections = this.htmlParserService.parseAgedSections(cf, instID, termID, subjectID);
+            List<CourseDTO> courseDTOs = this.dtoMapperService.toCourseDTOs(sections.sections());
             return new ResponseEntity<>(
                     new CourseResponseDTO(courseDTOs),
+                    ageHeaders(sections.age()),
                     HttpStatus.OK
             );
         } catch (HttpStatusException e) {
             // Report and return html access failure
             LOGGER.reportHTTPAccessError(MessageBuilder.Type.SUBJECT, e);
             return new ResponseEntity<>(new BadAccessResponseDTO(e), HttpStatus.BAD_REQUEST);
+        } catch (UpstreamUnavailableException e) {
+            // UH unavailable and nothing cached, fail fast
+            LOGGER.warn(new MessageBuilder(MessageBuilder.Type.SUBJECT).addDetails(e));
+            return new ResponseEntity<>(new APIErrorResponseDTO(e), HttpStatus.SERVICE_UNAVAILABLE);
         } catch (IOException e) {
             // Internal Server Error
             LOGGER.error(new MessageBuilder(MessageBuilder.Type.SUBJECT).addDetails(e));
@@ -229,18 +248,34 @@ public class CampusController {
                     .build();
 
             // Parse Sections
-            List<Section> sections = this.htmlParserService.parseSections(cf, instID, termID);
-            List<CourseDTO> courseDTOs = this.dtoMapperService.toCourseDTOs(sections);
+            HTMLParserService.AgedSections sections = this.htmlParserService.parseAgedSections(cf, instID, termID);
+            List<CourseDTO> courseDTOs = this.dtoMapperService.toCourseDTOs(sections.sections());
 
-            return new ResponseEntity<>(new CourseResponseDTO(courseDTOs), HttpStatus.OK);
+            return new ResponseEntity<>(new CourseResponseDTO(courseDTOs), ageHeaders(sections.age()), HttpStatus.OK);
         } catch (HttpStatusException e) {
             // Report and return html access failure
             LOGGER.reportHTTPAccessError(MessageBuilder.Type.COURSE, e);
             return new ResponseEntity<>(new BadAccessResponseDTO(e), HttpStatus.BAD_REQUEST);
+        } catch (UpstreamUnavailableException e) {
+            // UH unavailable and nothing cached, fail fast
+            LOGGER.warn(new MessageBuilder(MessageBuilder.Type.COURSE).addDetails(e));
+            return new ResponseEntity<>(new APIErrorResponseDTO(e), HttpStatus.SERVICE_UNAVAILABLE);
         } catch (IOException e) {
             // Internal Server error
             LOGGER.error(new MessageBuilder(MessageBuilder.Type.COURSE).addDetails(e));
             return new ResponseEntity<>(new APIErrorResponseDTO(e), HttpStatus.INTERNAL_SERVER_ERROR);
         }
     }
+
+    /**
+     * Build headers that report how old the sections in a response are
+     *
+     * @param age Time since the oldest page was fetched
+     * @return Headers with Age set in seconds
+     */
+    private static HttpHeaders ageHeaders(Duration age) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.AGE, String.valueOf(age.toSeconds()));
+        return headers;
+    }
 }
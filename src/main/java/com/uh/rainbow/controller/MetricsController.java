@@ -0,0 +1,43 @@
+package com.uh.rainbow.controller;
+
+import com.uh.rainbow.dto.response.MetricsResponseDTO;
+import com.uh.rainbow.dto.response.ResponseDTO;
+import com.uh.rainbow.service.HTMLParserService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * <b>File:</b> MetricsController.java
+ * <p>
+ * <b>Description:</b> Controller that reports internal metrics
+ *
+ * @author Derek Garcia
+ */
+
+@RequestMapping("/v1/metrics")
+@RestController(value = "metricsController")
+public class MetricsController {
+
+    private final HTMLParserService htmlParserService = new HTMLParserService();
+
+    /**
+     * GET Endpoint: /metrics
+     * Get cache, upstream, and parser metrics
+     *
+     * @return Snapshot of the current metrics
+     */
+    @GetMapping(value = "")
+    public ResponseEntity<ResponseDTO> getMetrics() {
+        return new ResponseEntity<>(
+                new MetricsResponseDTO(
+                        this.htmlParserService.getCacheStats(),
+                        this.htmlParserService.getUpstreamMetrics(),
+                        this.htmlParserService.getParserMetrics()
+                ),
+                HttpStatus.OK
+        );
+    }
+}
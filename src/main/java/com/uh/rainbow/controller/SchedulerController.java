@@ -1,5 +1,6 @@
 package com.uh.rainbow.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.uh.rainbow.dto.response.APIErrorResponseDTO;
 import com.uh.rainbow.dto.response.BadAccessResponseDTO;
 import com.uh.rainbow.dto.response.ResponseDTO;
@@ -7,17 +8,23 @@ import com.uh.rainbow.dto.response.ScheduleResponseDTO;
 import com.uh.rainbow.dto.schedule.ScheduleDTO;
 import com.uh.rainbow.entities.PotentialSchedule;
 import com.uh.rainbow.entities.Section;
+import com.uh.rainbow.exception.UpstreamUnavailableException;
 import com.uh.rainbow.service.HTMLParserService;
 import com.uh.rainbow.service.SchedulerService;
 import com.uh.rainbow.util.filter.CourseFilter;
 import com.uh.rainbow.util.logging.Logger;
 import com.uh.rainbow.util.logging.MessageBuilder;
+import com.uh.rainbow.util.schedule.ScheduleObjective;
 import org.jsoup.HttpStatusException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
@@ -36,10 +43,40 @@ import java.util.Set;
 public class SchedulerController {
 
     private final static Logger LOGGER = new Logger(SchedulerController.class);
+    private final static ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private final static int DEFAULT_RANK_LIMIT = 10;
     private final HTMLParserService htmlParserService = new HTMLParserService();
     private final SchedulerService schedulerService = new SchedulerService();
     private final com.uh.rainbow.services.DTOMapperService dtoMapperService = new com.uh.rainbow.services.DTOMapperService();
 
+    /**
+     * Verify at least one section from each requested class was found
+     *
+     * @param allSections Sections found for the request
+     * @param crn         List of Course Reference Numbers requested
+     * @param cid         List of full courses requested
+     * @return Error message if any classes are missing, null otherwise
+     */
+    private String findMissingSections(List<Section> allSections, List<String> crn, List<String> cid) {
+        // Warn if no sections found
+        if (allSections.isEmpty())
+            return LOGGER.reportMissingSchedulingSections(crn, cid);
+
+        // Verify at least one section from each class
+        Set<String> requiredCRNs = crn == null ? new HashSet<>() : new HashSet<>(crn);
+        Set<String> requiredCIDs = cid == null ? new HashSet<>() : new HashSet<>(cid);
+        for (Section section : allSections) {
+            requiredCRNs.remove(section.getCRN());
+            requiredCIDs.remove(section.getCID().replace(" ", ""));
+        }
+
+        // Warn if not all sections were found
+        if (!(requiredCIDs.isEmpty() && requiredCRNs.isEmpty()))
+            return LOGGER.reportMissingSchedulingSections(requiredCRNs, requiredCIDs);
+
+        return null;
+    }
+
     /**
      * GET Endpoint: /{instID}/terms/{termID}/scheduler
      * Simple scheduler endpoint for list of classes
@@ -56,6 +93,10 @@ public class SchedulerController {
      * @param online      Only classes online sections
      * @param sync        Only synchronous sections
      * @param day         UH day of week codes to filter by. Append with '!' to inverse search ie !M -> get all sections not on Monday
+     * @param parallel    Search for schedules across all cores, can't be used with limit, cursor, or rank
+     * @param limit       Max number of schedules to return
+     * @param cursor      Cursor from a previous response to get the next page of schedules
+     * @param rank        Only return the best schedules by an objective ( days, gaps, start )
      * @return List of valid schedules
      */
     @GetMapping(value = "/{instID}/terms/{termID}")
@@ -66,7 +107,11 @@ public class SchedulerController {
                                                     @RequestParam(required = false) String end_before,
                                                     @RequestParam(required = false) String online,
                                                     @RequestParam(required = false) String sync,
-                                                    @RequestParam(required = false) List<String> day) {
+                                                    @RequestParam(required = false) List<String> day,
+                                                    @RequestParam(required = false) String parallel,
+                                                    @RequestParam(required = false) Integer limit,
+                                                    @RequestParam(required = false) String cursor,
+                                                    @RequestParam(required = false) String rank) {
         try {
             CourseFilter cf = new CourseFilter.Builder()
                     .setFullCourses(cid)
@@ -81,38 +126,129 @@ public class SchedulerController {
             // Get sections
             List<Section> allSections = this.htmlParserService.parseSections(cf, instID, termID);
 
-            // Warn if no sections found
-            if (allSections.isEmpty()) {
-                return new ResponseEntity<>(new APIErrorResponseDTO(
-                        new Exception(LOGGER.reportMissingSchedulingSections(crn, cid))),
-                        HttpStatus.OK);
-            }
+            // Warn if not all sections were found
+            String missingSections = findMissingSections(allSections, crn, cid);
+            if (missingSections != null)
+                return new ResponseEntity<>(new APIErrorResponseDTO(new Exception(missingSections)), HttpStatus.OK);
 
-            // Verify at least one section from each class
-            Set<String> requiredCRNs = crn == null ? new HashSet<>() : new HashSet<>(crn);
-            Set<String> requiredCIDs = cid == null ? new HashSet<>() : new HashSet<>(cid);
-            for(Section section : allSections){
-                requiredCRNs.remove(section.getCRN());
-                requiredCIDs.remove(section.getCID().replace(" ", ""));
+            // Paged and ranked searches are sequential
+            if (Boolean.parseBoolean(parallel) && (limit != null || cursor != null || rank != null))
+                throw new IllegalArgumentException("parallel can't be used with limit, cursor, or rank");
+
+            // Find the best schedules
+            if (rank != null) {
+                if (cursor != null)
+                    throw new IllegalArgumentException("Ranked schedules can't be paged");
+                List<PotentialSchedule> schedules = this.schedulerService.rank(allSections, ScheduleObjective.fromString(rank), limit == null ? DEFAULT_RANK_LIMIT : limit);
+                return new ResponseEntity<>(new ScheduleResponseDTO(this.dtoMapperService.toScheduleDTOs(schedules)), HttpStatus.OK);
             }
 
-            // Warn if not all sections were found
-            if (!(requiredCIDs.isEmpty() && requiredCRNs.isEmpty())){
-                return new ResponseEntity<>(new APIErrorResponseDTO(
-                        new Exception(LOGGER.reportMissingSchedulingSections(requiredCRNs, requiredCIDs))),
-                        HttpStatus.OK);
+            // Find a page of valid schedules, resuming from the cursor if any
+            if (limit != null || cursor != null) {
+                SchedulerService.SchedulePage page = this.schedulerService.schedule(allSections, cursor, limit == null ? Integer.MAX_VALUE : limit);
+                List<ScheduleDTO> scheduleDTOs = this.dtoMapperService.toScheduleDTOs(page.schedules());
+                return new ResponseEntity<>(new ScheduleResponseDTO(scheduleDTOs, page.nextCursor()), HttpStatus.OK);
             }
 
             // Find valid schedules
-            List<PotentialSchedule> schedules = this.schedulerService.schedule(allSections);
+            List<PotentialSchedule> schedules = this.schedulerService.schedule(allSections, Boolean.parseBoolean(parallel));
             List<ScheduleDTO> scheduleDTOs = this.dtoMapperService.toScheduleDTOs(schedules);
 
             // Return findings
             return new ResponseEntity<>(new ScheduleResponseDTO(scheduleDTOs), HttpStatus.OK);
+        } catch (IllegalArgumentException e) {
+            // Bad page request
+            LOGGER.warn(new MessageBuilder(MessageBuilder.Type.SCHEDULE).addDetails(e.getMessage()));
+            return new ResponseEntity<>(new APIErrorResponseDTO(e), HttpStatus.BAD_REQUEST);
+        } catch (HttpStatusException e) {
+            // Report and return html access failure
+            LOGGER.reportHTTPAccessError(MessageBuilder.Type.SCHEDULE, e);
+            return new ResponseEntity<>(new BadAccessResponseDTO(e), HttpStatus.BAD_REQUEST);
+        } catch (UpstreamUnavailableException e) {
+            // UH unavailable and nothing cached, fail fast
+            LOGGER.warn(new MessageBuilder(MessageBuilder.Type.SCHEDULE).addDetails(e));
+            return new ResponseEntity<>(new APIErrorResponseDTO(e), HttpStatus.SERVICE_UNAVAILABLE);
+        } catch (IOException e) {
+            // Internal Server error
+            LOGGER.error(new MessageBuilder(MessageBuilder.Type.SCHEDULE).addDetails(e));
+            return new ResponseEntity<>(new APIErrorResponseDTO(e), HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    /**
+     * GET Endpoint: /{instID}/terms/{termID}/stream
+     * Streaming scheduler endpoint for list of classes
+     * Each schedule is written as a single line of JSON ( NDJSON ) as soon as it is found,
+     * so results are never held in memory
+     *
+     * @param instID      Inst ID to search for courses
+     * @param termID      Term ID to search for courses
+     * @param crn         List of Course Reference Numbers to add to schedule
+     * @param cid         List of full courses ie ICS 101 to add to schedule
+     * @param start_after Earliest time a class can start in 24hr format
+     * @param end_before  Latest time a class can run in 24hr format
+     * @param online      Only classes online sections
+     * @param sync        Only synchronous sections
+     * @param day         UH day of week codes to filter by. Append with '!' to inverse search ie !M -> get all sections not on Monday
+     * @return Stream of valid schedules
+     */
+    @GetMapping(value = "/{instID}/terms/{termID}/stream")
+    public ResponseEntity<?> streamSchedules(@PathVariable String instID, @PathVariable String termID,
+                                            @RequestParam(required = false) List<String> crn,
+                                            @RequestParam(required = false) List<String> cid,
+                                            @RequestParam(required = false) String start_after,
+                                            @RequestParam(required = false) String end_before,
+                                            @RequestParam(required = false) String online,
+                                            @RequestParam(required = false) String sync,
+                                            @RequestParam(required = false) List<String> day) {
+        try {
+            CourseFilter cf = new CourseFilter.Builder()
+                    .setFullCourses(cid)
+                    .setCRNs(crn)
+                    .setStartAfter(start_after)
+                    .setEndBefore(end_before)
+                    .setOnline(online)
+                    .setSynchronous(sync)
+                    .setDays(day)
+                    .build();
+
+            // Get sections
+            List<Section> allSections = this.htmlParserService.parseSections(cf, instID, termID);
+
+            // Warn if not all sections were found
+            String missingSections = findMissingSections(allSections, crn, cid);
+            if (missingSections != null)
+                return new ResponseEntity<>(new APIErrorResponseDTO(new Exception(missingSections)), HttpStatus.OK);
+
+            // Write each schedule as it is found
+            StreamingResponseBody body = (out) -> {
+                try {
+                    this.schedulerService.schedule(allSections, (schedule) -> {
+                        try {
+                            out.write(OBJECT_MAPPER.writeValueAsBytes(this.dtoMapperService.toScheduleDTO(schedule)));
+                            out.write('\n');
+                            out.flush();
+                        } catch (IOException e) {
+                            // Client went away, stop searching
+                            throw new UncheckedIOException(e);
+                        }
+                    });
+                } catch (UncheckedIOException e) {
+                    throw e.getCause();
+                }
+            };
+
+            HttpHeaders headers = new HttpHeaders();
+            headers.setContentType(MediaType.APPLICATION_NDJSON);
+            return new ResponseEntity<>(body, headers, HttpStatus.OK);
         } catch (HttpStatusException e) {
             // Report and return html access failure
             LOGGER.reportHTTPAccessError(MessageBuilder.Type.SCHEDULE, e);
             return new ResponseEntity<>(new BadAccessResponseDTO(e), HttpStatus.BAD_REQUEST);
+        } catch (UpstreamUnavailableException e) {
+            // UH unavailable and nothing cached, fail fast
+            LOGGER.warn(new MessageBuilder(MessageBuilder.Type.SCHEDULE).addDetails(e));
+            return new ResponseEntity<>(new APIErrorResponseDTO(e), HttpStatus.SERVICE_UNAVAILABLE);
         } catch (IOException e) {
             // Internal Server error
             LOGGER.error(new MessageBuilder(MessageBuilder.Type.SCHEDULE).addDetails(e));
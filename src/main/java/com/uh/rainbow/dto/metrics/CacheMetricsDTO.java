@@ -0,0 +1,11 @@
+package com.uh.rainbow.dto.metrics;
+
+/**
+ * <b>File:</b> CacheMetricsDTO.java
+ * <p>
+ * <b>Description:</b> Section cache metrics
+ *
+ * @author Derek Garcia
+ */
+public record CacheMetricsDTO(long hits, long stale_hits, long misses, long evictions, int entries, long sections) {
+}
@@ -0,0 +1,19 @@
+package com.uh.rainbow.dto.metrics;
+
+/**
+ * <b>File:</b> ParserMetricsDTO.java
+ * <p>
+ * <b>Description:</b> Counts of subject pages and sections parsed vs reused from the previous fetch,
+ * and of the strings shared between sections of the same term
+ *
+ * @author Derek Garcia
+ */
+public record ParserMetricsDTO(
+        long pages_skipped,
+        long pages_parsed,
+        long sections_reused,
+        long sections_parsed,
+        long unique_strings,
+        long shared_strings
+) {
+}
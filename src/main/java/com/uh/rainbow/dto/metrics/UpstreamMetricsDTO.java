@@ -0,0 +1,18 @@
+package com.uh.rainbow.dto.metrics;
+
+/**
+ * <b>File:</b> UpstreamMetricsDTO.java
+ * <p>
+ * <b>Description:</b> Metrics of requests made to UH
+ *
+ * @author Derek Garcia
+ */
+public record UpstreamMetricsDTO(
+        long coalesced,
+        long not_modified,
+        long throttled,
+        String circuit,
+        long rejected,
+        long stale_served
+) {
+}
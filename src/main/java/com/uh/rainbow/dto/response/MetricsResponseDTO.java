@@ -0,0 +1,41 @@
+package com.uh.rainbow.dto.response;
+
+import com.uh.rainbow.dto.metrics.CacheMetricsDTO;
+import com.uh.rainbow.dto.metrics.ParserMetricsDTO;
+import com.uh.rainbow.dto.metrics.UpstreamMetricsDTO;
+import com.uh.rainbow.util.cache.SectionCache;
+
+/**
+ * <b>File:</b> MetricsResponseDTO.java
+ * <p>
+ * <b>Description:</b> Metrics Response DTO
+ *
+ * @author Derek Garcia
+ */
+public class MetricsResponseDTO extends ResponseDTO {
+
+    public final CacheMetricsDTO cache;
+    public final UpstreamMetricsDTO upstream;
+    public final ParserMetricsDTO parser;
+
+    /**
+     * Create new Metrics Response
+     *
+     * @param cacheStats Section cache metrics
+     * @param upstream   Metrics of requests made to UH
+     * @param parser     Counts of pages and sections parsed vs reused
+     */
+    public MetricsResponseDTO(SectionCache.Stats cacheStats, UpstreamMetricsDTO upstream, ParserMetricsDTO parser) {
+        this.cache = new CacheMetricsDTO(
+                cacheStats.hits(),
+                cacheStats.staleHits(),
+                cacheStats.misses(),
+                cacheStats.evictions(),
+                cacheStats.entries(),
+                cacheStats.weight()
+        );
+        this.upstream = upstream;
+        this.parser = parser;
+    }
+
+}
@@ -14,18 +14,30 @@ import java.util.List;
  */
 public class ScheduleResponseDTO extends ResponseDTO {
     public final List<ScheduleDTO> schedules;
+    public final String next_cursor;
 
     /**
      * Create empty Schedule response
      */
     public ScheduleResponseDTO() {
-        this.schedules = new ArrayList<>();
+        this(new ArrayList<>());
     }
 
     /**
      * Create new Schedule response with list of valid schedules
      */
     public ScheduleResponseDTO(List<ScheduleDTO> schedules) {
+        this(schedules, null);
+    }
+
+    /**
+     * Create new Schedule response with a page of valid schedules
+     *
+     * @param schedules  Page of valid schedules
+     * @param nextCursor Cursor to get the next page, null if no more schedules
+     */
+    public ScheduleResponseDTO(List<ScheduleDTO> schedules, String nextCursor) {
         this.schedules = schedules;
+        this.next_cursor = nextCursor;
     }
 }
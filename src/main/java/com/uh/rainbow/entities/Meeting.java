@@ -17,6 +17,9 @@ import java.util.List;
  * @author Derek Garcia
  */
 public class Meeting {
+    private static final int FIRST_DAY = 0;
+    private static final int LAST_DAY = 366;
+
     private final Day day;
     private final SimpleTime startTime;
     private final SimpleTime endTime;
@@ -28,10 +31,14 @@ public class Meeting {
     /**
      * Create new meeting
      *
-     * @param day  Day of Week
-     * @param room Room
+     * @param day       Day of Week
+     * @param startTime Start time
+     * @param endTime   End time
+     * @param startDate Start date
+     * @param endDate   End date
+     * @param room      Room
      */
-    private Meeting(Day day, SimpleTime startTime, SimpleTime endTime, SimpleDate startDate, SimpleDate endDate, String room) {
+    public Meeting(Day day, SimpleTime startTime, SimpleTime endTime, SimpleDate startDate, SimpleDate endDate, String room) {
         this.day = day;
         this.startTime = startTime;
         this.endTime = endTime;
@@ -55,7 +62,9 @@ public class Meeting {
         if (this.day != other.day)
             return false;
 
-        // todo handle single day meetings
+        // Can't conflict if never meet during the same part of the term
+        if (this.getFirstDay() > other.getLastDay() || other.getFirstDay() > this.getLastDay())
+            return false;
 
         // Conflict if times overlap
         return this.startTime.beforeOrEqual(other.endTime) == 1 && this.endTime.afterOrEqual(other.startTime) == 1;
@@ -63,6 +72,31 @@ public class Meeting {
         // No conflicts
     }
 
+    /**
+     * Check if the dates of the meeting are known and don't wrap past the end of the year
+     *
+     * @return True if the first and last days can be compared, false otherwise
+     */
+    private boolean hasDateRange() {
+        return this.startDate.getDayOfYear() != -1
+                && this.endDate.getDayOfYear() != -1
+                && this.startDate.getDayOfYear() <= this.endDate.getDayOfYear();
+    }
+
+    /**
+     * @return Day of year of the first meeting, start of the year if dates are TBA
+     */
+    public int getFirstDay() {
+        return hasDateRange() ? this.startDate.getDayOfYear() : FIRST_DAY;
+    }
+
+    /**
+     * @return Day of year of the last meeting, end of the year if dates are TBA
+     */
+    public int getLastDay() {
+        return hasDateRange() ? this.endDate.getDayOfYear() : LAST_DAY;
+    }
+
     /**
      * Create new meetings parsed from UH style input parameters
      *
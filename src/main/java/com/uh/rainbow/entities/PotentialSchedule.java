@@ -1,7 +1,10 @@
 package com.uh.rainbow.entities;
 
+import com.uh.rainbow.util.schedule.ConflictMatrix;
+
 import java.util.ArrayList;
-import java.util.HashSet;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
 
@@ -14,49 +17,56 @@ import java.util.Set;
  * @author Derek Garcia
  */
 public class PotentialSchedule {
-    private Set<String> courses = new HashSet<>();
-    private Set<Section> sections = new HashSet<>();
-    private final List<Section> remainingSections;
+    private final ConflictMatrix matrix;
+    private final long[] sections;
+    private final long[] remainingSections;
+    private final int numCourses;
+    private final int lastSection;
 
     /**
      * Create a new potential schedule
      *
-     * @param remainingSections Remaining sections to that can potentially be included in this schedule
+     * @param matrix Conflict matrix of the sections that can potentially be included in this schedule
      */
-    public PotentialSchedule(List<Section> remainingSections) {
-        this.remainingSections = new ArrayList<>(remainingSections);
+    public PotentialSchedule(ConflictMatrix matrix) {
+        this.matrix = matrix;
+        this.sections = new long[matrix.getWords()];
+        this.remainingSections = new long[matrix.getWords()];
+        for (int i = 0; i < matrix.getNumSections(); i++)
+            ConflictMatrix.set(this.remainingSections, i);
+        this.numCourses = 0;
+        this.lastSection = -1;
     }
 
     /**
      * Private constructor that creates a copy of another schedule that includes an additional section
      *
      * @param other Other schedule to copy
-     * @param next  Next section to add to new copy
+     * @param next  Ordinal of next section to add to new copy
      */
-    private PotentialSchedule(PotentialSchedule other, Section next) {
-        // Copy current section and add next section
-        this.courses = new HashSet<>(other.courses);
-        this.courses.add(next.getCID());
+    private PotentialSchedule(PotentialSchedule other, int next) {
+        this.matrix = other.matrix;
 
-        // Copy current section and add next section
-        this.sections = new HashSet<>(other.sections);
-        this.sections.add(next);
+        // Copy current sections and add next section
+        this.sections = other.sections.clone();
+        ConflictMatrix.set(this.sections, next);
+        this.numCourses = other.numCourses + 1;
+        this.lastSection = next;
 
-        // Copy remaining sections of missing courses
-        this.remainingSections = new ArrayList<>(
-                other.remainingSections.stream()
-                        .filter((s) -> !this.courses.contains(s.getCID()))
-                        .toList());
+        // Remove sections of the same course and sections that conflict with the next section
+        long[] conflicts = this.matrix.getConflicts(next);
+        this.remainingSections = new long[other.remainingSections.length];
+        for (int w = 0; w < this.remainingSections.length; w++)
+            this.remainingSections[w] = other.remainingSections[w] & ~conflicts[w];
     }
 
     /**
      * Test to see if this schedule is complete
      *
-     * @param courses List of courses that the schedule must contain to be considered complete
-     * @return True if complete, false otherwise
+     * @return True if has a section of every course, false otherwise
      */
-    public boolean isComplete(Set<String> courses) {
-        return this.courses.containsAll(courses);
+    public boolean isComplete() {
+        return this.numCourses == this.matrix.getNumCourses();
     }
 
     /**
@@ -67,36 +77,154 @@ public class PotentialSchedule {
      * @return True if equal, False otherwise
      */
     public boolean isEquals(PotentialSchedule other) {
-        return this.sections.size() == other.getSections().size() && this.sections.containsAll(other.getSections());
+        return Arrays.equals(this.sections, other.sections);
     }
 
     /**
      * Get all the successors ( current courses + 1 new course ) for this current schedule
+     * Only one course is added per step so each schedule can only be reached one way
      *
      * @return List of valid potential successor schedules
      */
     public List<PotentialSchedule> getSuccessors() {
+        // Nothing left to add
+        if (isComplete())
+            return new ArrayList<>();
+
+        return getSuccessors(getNextCourse());
+    }
+
+    /**
+     * Get the next course to add to this schedule. The most constrained course is picked first
+     * so dead ends are found as early as possible
+     *
+     * @return Ordinal of the missing course with the fewest remaining sections, -1 if complete
+     */
+    public int getNextCourse() {
+        int nextCourse = -1;
+        int fewestSections = Integer.MAX_VALUE;
+        for (int course = 0; course < this.matrix.getNumCourses(); course++) {
+            if (hasCourse(course))
+                continue;
+
+            int numSections = countRemainingSections(course);
+            if (numSections < fewestSections) {
+                nextCourse = course;
+                fewestSections = numSections;
+            }
+        }
+        return nextCourse;
+    }
+
+    /**
+     * Forward check this schedule to see if it can still be completed
+     *
+     * @return True if every missing course has at least one remaining section, false otherwise
+     */
+    private boolean isViable() {
+        for (int course = 0; course < this.matrix.getNumCourses(); course++) {
+            if (!hasCourse(course) && countRemainingSections(course) == 0)
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * Get all the successors that add a section of a specific course to this current schedule
+     *
+     * @param course Ordinal of course to add
+     * @return List of valid potential successor schedules
+     */
+    public List<PotentialSchedule> getSuccessors(int course) {
         List<PotentialSchedule> successors = new ArrayList<>();
 
-        this.remainingSections.stream()
-                // Get all sections don't conflict with existing sections
-                .filter((next) -> this.sections.stream().filter(next::conflictsWith).findAny().isEmpty())
-                // Add each non-conflicting section to successors
-                .forEach((next) -> successors.add(new PotentialSchedule(this, next)));
+        // Remaining sections never conflict with existing sections
+        long[] courseMask = this.matrix.getCourseMask(course);
+        for (int next = ConflictMatrix.nextSetBit(courseMask, 0); next >= 0; next = ConflictMatrix.nextSetBit(courseMask, next + 1)) {
+            if (!ConflictMatrix.isSet(this.remainingSections, next))
+                continue;
+
+            // Skip successors that leave a missing course without any sections
+            PotentialSchedule successor = new PotentialSchedule(this, next);
+            if (successor.isViable())
+                successors.add(successor);
+        }
 
         return successors;
     }
 
+    /**
+     * Test to see if this schedule has a section for a course
+     *
+     * @param course Ordinal of course
+     * @return True if the course has a section in this schedule, false otherwise
+     */
+    public boolean hasCourse(int course) {
+        long[] courseMask = this.matrix.getCourseMask(course);
+        for (int w = 0; w < this.sections.length; w++) {
+            if ((this.sections[w] & courseMask[w]) != 0)
+                return true;
+        }
+        return false;
+    }
+
+    /**
+     * Count the number of remaining sections that could still be added for a course
+     *
+     * @param course Ordinal of course
+     * @return Number of remaining sections
+     */
+    public int countRemainingSections(int course) {
+        long[] courseMask = this.matrix.getCourseMask(course);
+        int count = 0;
+        for (int w = 0; w < this.remainingSections.length; w++)
+            count += Long.bitCount(this.remainingSections[w] & courseMask[w]);
+        return count;
+    }
+
+    /**
+     * @return Number of courses that could be in this schedule
+     */
+    public int getNumCourses() {
+        return this.matrix.getNumCourses();
+    }
+
+    /**
+     * @return Ordinal of the last section added to this schedule, -1 if empty
+     */
+    public int getLastSection() {
+        return this.lastSection;
+    }
+
+    /**
+     * @return True if no sections have been added to this schedule, false otherwise
+     */
+    public boolean isEmpty() {
+        return this.numCourses == 0;
+    }
 
     /**
      * @return Set of sections in this schedule
      */
     public Set<Section> getSections() {
-        return this.sections;
+        Set<Section> sections = new LinkedHashSet<>();
+        for (int i = ConflictMatrix.nextSetBit(this.sections, 0); i >= 0; i = ConflictMatrix.nextSetBit(this.sections, i + 1))
+            sections.add(this.matrix.getSection(i));
+        return sections;
+    }
+
+    /**
+     * @return Sections of missing courses that could still be added to this schedule
+     */
+    public List<Section> getRemainingSections() {
+        List<Section> sections = new ArrayList<>();
+        for (int i = ConflictMatrix.nextSetBit(this.remainingSections, 0); i >= 0; i = ConflictMatrix.nextSetBit(this.remainingSections, i + 1))
+            sections.add(this.matrix.getSection(i));
+        return sections;
     }
 
     @Override
     public String toString() {
-        return String.join(", ", this.sections.stream().map(Section::toString).toList());
+        return String.join(", ", getSections().stream().map(Section::toString).toList());
     }
 }
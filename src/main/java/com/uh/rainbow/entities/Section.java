@@ -25,6 +25,8 @@ public class Section {
     private final int currEnrolled;
     private final int seatsAvailable;
     private final List<Meeting> meetings = new ArrayList<>();
+    private static final int MEETING_STRIDE = 4;
+    private int[] weeklyTimes = new int[0];     // start, end, first day, last day of scheduled meetings sorted by start
     private int failedMeetings = 0;     // Assume no failed meetings
     private final List<String> additionalDetails = new ArrayList<>();
 
@@ -61,7 +63,49 @@ public class Section {
      */
     public boolean conflictsWith(Section other) {
         // Check to see if any of this meetings conflicts with any other meeting
-        return this.meetings.stream().anyMatch((m) -> other.meetings.stream().anyMatch(m::conflictsWith));
+        for (int i = 0; i < this.weeklyTimes.length; i += MEETING_STRIDE) {
+            // Other meetings are sorted by start, so none after one starting after this ends can overlap
+            for (int j = 0; j < other.weeklyTimes.length && other.weeklyTimes[j] <= this.weeklyTimes[i + 1]; j += MEETING_STRIDE) {
+                if (this.weeklyTimes[i] <= other.weeklyTimes[j + 1]
+                        && this.weeklyTimes[i + 2] <= other.weeklyTimes[j + 3]      // dates overlap
+                        && other.weeklyTimes[j + 2] <= this.weeklyTimes[i + 3])
+                    return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Pack a time into a single int that sorts by day, then time. Days are spaced further apart than
+     * any minute of day, so times pushed past midnight never reach the next day
+     *
+     * @param dow         Day of week
+     * @param minuteOfDay Minute of day
+     * @return Packed time
+     */
+    private static int toWeeklyTime(int dow, int minuteOfDay) {
+        return dow << 16 | minuteOfDay;
+    }
+
+    /**
+     * Pack the times and dates of the meetings. TBA days and times can't conflict, so are left out
+     */
+    private void packMeetings() {
+        List<Meeting> scheduled = new ArrayList<>();
+        for (Meeting m : this.meetings) {
+            if (m.getDay() != Day.TBA && m.getStartTime().getMinuteOfDay() != -1 && m.getEndTime().getMinuteOfDay() != -1)
+                scheduled.add(m);
+        }
+        scheduled.sort(Comparator.comparingInt((m) -> toWeeklyTime(m.getDow(), m.getStartTime().getMinuteOfDay())));
+
+        this.weeklyTimes = new int[scheduled.size() * MEETING_STRIDE];
+        for (int i = 0; i < scheduled.size(); i++) {
+            Meeting m = scheduled.get(i);
+            this.weeklyTimes[i * MEETING_STRIDE] = toWeeklyTime(m.getDow(), m.getStartTime().getMinuteOfDay());
+            this.weeklyTimes[i * MEETING_STRIDE + 1] = toWeeklyTime(m.getDow(), m.getEndTime().getMinuteOfDay());
+            this.weeklyTimes[i * MEETING_STRIDE + 2] = m.getFirstDay();
+            this.weeklyTimes[i * MEETING_STRIDE + 3] = m.getLastDay();
+        }
     }
 
 
@@ -73,6 +117,7 @@ public class Section {
     public void addMeetings(List<Meeting> meetings) {
         this.meetings.addAll(meetings);
         this.meetings.sort(Comparator.comparingInt(Meeting::getDow));   // sort meetings by day of week
+        packMeetings();
     }
 
     /**
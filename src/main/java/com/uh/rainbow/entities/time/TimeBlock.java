@@ -14,6 +14,9 @@ import java.util.concurrent.TimeUnit;
  * @author Derek Garcia
  */
 public class TimeBlock {
+    private static final int EARLIEST_PM_START = 6 * 60;    // 06:00
+    private static final int LATEST_AM_END = 11 * 60 + 59;  // 11:59
+
     private final SimpleTime startTime;
     private final SimpleTime endTime;
     private final SimpleDate startDate;
@@ -51,11 +54,11 @@ public class TimeBlock {
          */
 
         if (tod == 'p') {
-            if (this.startTime.beforeOrEqual(new SimpleTime("0600")) == 1)
+            if (this.startTime.getMinuteOfDay() <= EARLIEST_PM_START)
                 this.startTime.addHours(12);
 
             // Mark end in afternoon if 'p'
-            if (this.endTime.beforeOrEqual(new SimpleTime("1159")) == 1)
+            if (this.endTime.getMinuteOfDay() <= LATEST_AM_END)
                 this.endTime.addHours(12);
 
             // If the class is longer than 5 hours, start is probably in am
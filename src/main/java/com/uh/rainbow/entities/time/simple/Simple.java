@@ -1,35 +1,57 @@
 package com.uh.rainbow.entities.time.simple;
 
-import java.text.DateFormat;
 import java.text.ParseException;
-import java.text.SimpleDateFormat;
-import java.util.Date;
 import java.util.concurrent.TimeUnit;
 
 /**
  * <b>File:</b> Simple.java
  * <p>
- * <b>Description:</b> "Simple" Interface for date and time management
+ * <b>Description:</b> "Simple" Interface for date and time management. Times and dates are
+ * stored as a single number so parsing and comparing them never allocates
  *
  * @author Derek Garcia
  */
-public abstract class Simple extends Date {
+public abstract class Simple {
     protected static final String TBA_STRING = "TBA";
-    protected Date timeReference = null;    // default is null / TBA
+    protected static final short TBA = -1;
+
+    protected short value;   // in units of getUnit(), TBA if not set
+
+    /**
+     * Create a new simple "time"
+     *
+     * @param value Value in units, {@link #TBA} if TBA
+     */
+    protected Simple(int value) {
+        this.value = (short) value;
+    }
+
+    /**
+     * @return Unit of the stored value
+     */
+    protected abstract TimeUnit getUnit();
 
     /**
-     * Create a new simple "time" interface for date
+     * Parse the digits of a part of a string
      *
-     * @param formatString  SimpleDateFormat string to use
-     * @param timeReference "Time Reference", either time or date, to use
-     * @throws ParseException Failed to parse timeReference
+     * @param s     String to parse
+     * @param start Index of the first digit
+     * @param end   Index after the last digit
+     * @return Value of digits
+     * @throws ParseException Part is empty or not all digits
      */
-    protected Simple(String formatString, String timeReference) throws ParseException {
-        DateFormat formatter = new SimpleDateFormat(formatString);
+    protected static int parseNumber(String s, int start, int end) throws ParseException {
+        if (start >= end || end > s.length())
+            throw new ParseException("Unparseable: \"%s\"".formatted(s), start);
 
-        // Parse date if not TBA
-        if (!timeReference.equalsIgnoreCase(TBA_STRING))
-            this.timeReference = formatter.parse(timeReference);
+        int value = 0;
+        for (int i = start; i < end; i++) {
+            int digit = Character.digit(s.charAt(i), 10);
+            if (digit == -1)
+                throw new ParseException("Unparseable: \"%s\"".formatted(s), i);
+            value = value * 10 + digit;
+        }
+        return value;
     }
 
 
@@ -42,11 +64,10 @@ public abstract class Simple extends Date {
      */
     public long duration(Simple other, TimeUnit timeUnit) {
         // Can't compare TBA dates, so err
-        if (this.timeReference == null || other.timeReference == null)
+        if (this.value == TBA || other.value == TBA)
             return -1;
         // Calc diff b/w times
-        long diff = Math.abs(this.timeReference.getTime() - other.timeReference.getTime());
-        return TimeUnit.valueOf(String.valueOf(timeUnit)).convert(diff, TimeUnit.MILLISECONDS);
+        return timeUnit.convert(Math.abs(this.value - other.value), getUnit());
     }
 
 
@@ -58,9 +79,9 @@ public abstract class Simple extends Date {
      */
     public int beforeOrEqual(Simple other) {
         // Can't compare TBA dates, so err
-        if (this.timeReference == null || other.timeReference == null)
+        if (this.value == TBA || other.value == TBA)
             return -1;
-        return this.timeReference.getTime() <= other.timeReference.getTime() ? 1 : 0;
+        return this.value <= other.value ? 1 : 0;
     }
 
 
@@ -72,8 +93,8 @@ public abstract class Simple extends Date {
      */
     public int afterOrEqual(Simple other) {
         // Can't compare TBA dates, so er
-        if (this.timeReference == null || other.timeReference == null)
+        if (this.value == TBA || other.value == TBA)
             return -1;
-        return this.timeReference.getTime() >= other.timeReference.getTime() ? 1 : 0;
+        return this.value >= other.value ? 1 : 0;
     }
 }
@@ -1,20 +1,18 @@
 package com.uh.rainbow.entities.time.simple;
 
-import java.text.DateFormat;
 import java.text.ParseException;
-import java.text.SimpleDateFormat;
+import java.util.concurrent.TimeUnit;
 
 /**
- * <b>File:</b> SimpleTime.java
+ * <b>File:</b> SimpleDate.java
  * <p>
- * <b>Description:</b> Simple representation of a date
+ * <b>Description:</b> Simple representation of a date, stored as the day of a non-leap year
  *
  * @author Derek Garcia
  */
 public class SimpleDate extends Simple {
-    private final static String DATE_INPUT_FORMAT = "MM/dd";
-    private final static DateFormat OUTPUT_FORMATTER = new SimpleDateFormat("MM/dd");
-
+    // Days before the start of each month
+    private static final int[] MONTH_START = {0, 31, 59, 90, 120, 151, 181, 212, 243, 273, 304, 334, 365};
 
     /**
      * Create new Simple Date
@@ -23,15 +21,58 @@ public class SimpleDate extends Simple {
      * @throws ParseException Failed to parse date string
      */
     public SimpleDate(String date) throws ParseException {
-        super(DATE_INPUT_FORMAT, date);     // dd/MM/70 00:00
+        super(date.equalsIgnoreCase(TBA_STRING) ? TBA : parseDayOfYear(date));
+    }
+
+    /**
+     * Create new Simple Date
+     *
+     * @param dayOfYear Day of year starting at 1, -1 if TBA
+     */
+    public SimpleDate(int dayOfYear) {
+        super(dayOfYear);
+    }
+
+    /**
+     * Parse a date into the day of the year
+     *
+     * @param date date in the format of 'MM/dd'
+     * @return Day of year starting at 1
+     * @throws ParseException Failed to parse date string
+     */
+    private static int parseDayOfYear(String date) throws ParseException {
+        int slash = date.indexOf('/');
+        int month = parseNumber(date, 0, slash);
+        if (month < 1 || month > 12)
+            throw new ParseException("Unparseable: \"%s\"".formatted(date), 0);
+
+        // Days past the end of the month roll into the next like Date did, ie 02/29 -> 03/01
+        return MONTH_START[month - 1] + parseNumber(date, slash + 1, date.length());
+    }
+
+    /**
+     * @return Day of year starting at 1, -1 if TBA
+     */
+    public int getDayOfYear() {
+        return this.value;
+    }
+
+    @Override
+    protected TimeUnit getUnit() {
+        return TimeUnit.DAYS;
     }
 
     @Override
     public String toString() {
         // TBA string
-        if (this.timeReference == null)
+        if (this.value == TBA)
             return TBA_STRING;
 
-        return OUTPUT_FORMATTER.format(this.timeReference);
+        // MM/dd
+        int day = (this.value - 1) % 365 + 1;
+        int month = 1;
+        while (MONTH_START[month] < day)
+            month++;
+        return "%02d/%02d".formatted(month, day - MONTH_START[month - 1]);
     }
 }
@@ -1,22 +1,17 @@
 package com.uh.rainbow.entities.time.simple;
 
-import org.apache.commons.lang3.time.DateUtils;
-
-import java.text.DateFormat;
 import java.text.ParseException;
-import java.text.SimpleDateFormat;
+import java.util.concurrent.TimeUnit;
 
 /**
  * <b>File:</b> SimpleTime.java
  * <p>
- * <b>Description:</b> Simple representation of a time
+ * <b>Description:</b> Simple representation of a time, stored as minutes since midnight
  *
  * @author Derek Garcia
  */
 public class SimpleTime extends Simple {
-    private final static String TIME_INPUT_FORMAT = "HHmm";
-    private final static String OUTPUT_FORMAT = "hh:mm a";
-    private final static DateFormat OUTPUT_FORMATTER = new SimpleDateFormat(OUTPUT_FORMAT);
+    private static final int MINUTES_PER_DAY = 24 * 60;
 
     /**
      * Create new Simple Time
@@ -25,7 +20,16 @@ public class SimpleTime extends Simple {
      * @throws ParseException Failed to parse time string
      */
     public SimpleTime(String time) throws ParseException {
-        super(TIME_INPUT_FORMAT, time);      // 1/1/70 HH:mm
+        super(time.equalsIgnoreCase(TBA_STRING) ? TBA : parseNumber(time, 0, 2) * 60 + parseNumber(time, 2, time.length()));
+    }
+
+    /**
+     * Create new Simple Time
+     *
+     * @param minuteOfDay Number of minutes since midnight, -1 if TBA
+     */
+    public SimpleTime(int minuteOfDay) {
+        super(minuteOfDay);
     }
 
     /**
@@ -35,17 +39,34 @@ public class SimpleTime extends Simple {
      */
     public void addHours(int numHours) {
         // Can't add time to null / TBA
-        if (this.timeReference == null)
+        if (this.value == TBA)
             return;
-        this.timeReference = DateUtils.addHours(this.timeReference, numHours);
+        this.value += (short) (numHours * 60);
+    }
+
+    /**
+     * Get the number of minutes since midnight. Times pushed past midnight by {@link #addHours(int)}
+     * keep counting so comparisons stay consistent
+     *
+     * @return Minute of day, -1 if TBA
+     */
+    public int getMinuteOfDay() {
+        return this.value;
+    }
+
+    @Override
+    protected TimeUnit getUnit() {
+        return TimeUnit.MINUTES;
     }
 
     @Override
     public String toString() {
         // TBA string
-        if (this.timeReference == null)
+        if (this.value == TBA)
             return TBA_STRING;
 
-        return OUTPUT_FORMATTER.format(this.timeReference);
+        // hh:mm a
+        int hour = (this.value % MINUTES_PER_DAY) / 60;
+        return "%02d:%02d %s".formatted(hour % 12 == 0 ? 12 : hour % 12, this.value % 60, hour < 12 ? "AM" : "PM");
     }
 }
@@ -0,0 +1,14 @@
+package com.uh.rainbow.exception;
+
+/**
+ * <b>File:</b> NotModifiedException.java
+ * <p>
+ * <b>Description:</b> Wrapper exception for when a conditional request is answered with 304 Not Modified
+ *
+ * @author Derek Garcia
+ */
+public class NotModifiedException extends Exception {
+    public NotModifiedException(String url) {
+        super("Not Modified: %s".formatted(url));
+    }
+}
@@ -0,0 +1,28 @@
+package com.uh.rainbow.exception;
+
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * <b>File:</b> UpstreamUnavailableException.java
+ * <p>
+ * <b>Description:</b> Wrapper exception for when a request to UH is rejected without being sent
+ * because the circuit breaker is open
+ *
+ * @author Derek Garcia
+ */
+public class UpstreamUnavailableException extends IOException {
+    private final Duration retryAfter;
+
+    public UpstreamUnavailableException(String url, Duration retryAfter) {
+        super("UH unavailable, skipped request to %s. Retry in %ss".formatted(url, Math.max(1, retryAfter.toSeconds())));
+        this.retryAfter = retryAfter;
+    }
+
+    /**
+     * @return Time until the breaker allows another request
+     */
+    public Duration getRetryAfter() {
+        return this.retryAfter;
+    }
+}
@@ -0,0 +1,94 @@
+package com.uh.rainbow.service;
+
+import com.uh.rainbow.dto.identifier.IdentifierDTO;
+import com.uh.rainbow.util.logging.Logger;
+import com.uh.rainbow.util.logging.MessageBuilder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * <b>File:</b> CrawlerService.java
+ * <p>
+ * <b>Description:</b> Periodically crawls every subject of the latest terms of the configured
+ * institutions so the section cache is already warm when a request comes in. Past terms are left
+ * to be fetched on demand so each crawl doesn't send a request per subject of every old term to UH
+ *
+ * @author Derek Garcia
+ */
+@Service
+@ConditionalOnProperty(value = "rainbow.crawler.enabled", havingValue = "true", matchIfMissing = true)
+public class CrawlerService {
+    private static final Logger LOGGER = new Logger(CrawlerService.class);
+    private final HTMLParserService htmlParserService = new HTMLParserService();
+    private final String[] institutions;
+    private final int maxTerms;
+    private final Duration requestDelay;
+
+    /**
+     * Create new crawler
+     *
+     * @param institutions Institution IDs to crawl
+     * @param maxTerms     Number of latest terms to crawl, ie the current and upcoming term
+     * @param requestDelay Time to wait between subject pages
+     */
+    public CrawlerService(
+            @Value("${rainbow.crawler.institutions:}") String[] institutions,
+            @Value("${rainbow.crawler.max-terms:2}") int maxTerms,
+            @Value("${rainbow.crawler.request-delay:PT0.5S}") Duration requestDelay) {
+        this.institutions = institutions;
+        this.maxTerms = maxTerms;
+        this.requestDelay = requestDelay;
+    }
+
+    /**
+     * Get the latest terms to crawl. Term IDs are the year followed by the term code, so later
+     * terms always have larger IDs
+     *
+     * @param terms Available terms
+     * @return Latest terms, newest first
+     */
+    private List<IdentifierDTO> getActiveTerms(List<IdentifierDTO> terms) {
+        return terms.stream()
+                .sorted(Comparator.comparing(IdentifierDTO::id).reversed())
+                .limit(this.maxTerms)
+                .toList();
+    }
+
+    /**
+     * Crawl the latest terms of each configured institution
+     */
+    @Scheduled(initialDelayString = "${rainbow.crawler.initial-delay:PT10S}", fixedDelayString = "${rainbow.crawler.interval:PT5M}")
+    public void crawl() {
+        for (String instID : this.institutions) {
+            Instant start = Instant.now();
+            try {
+                // Crawl each active term one at a time
+                List<IdentifierDTO> terms = getActiveTerms(this.htmlParserService.parseTerms(instID));
+                for (IdentifierDTO term : terms) {
+                    try {
+                        this.htmlParserService.crawlTerm(instID, term.id(), this.requestDelay);
+                    } catch (IOException e) {
+                        // Skip term and continue
+                        LOGGER.warn(new MessageBuilder(MessageBuilder.Type.TERM).addDetails(instID, term.id()).addDetails(e));
+                    }
+                }
+
+                LOGGER.info(new MessageBuilder(MessageBuilder.Type.INST)
+                        .addDetails(instID)
+                        .addDetails("Crawled %s term%s".formatted(terms.size(), terms.size() == 1 ? "" : "s"))
+                        .setDuration(start));
+            } catch (IOException e) {
+                // Skip institution and continue
+                LOGGER.warn(new MessageBuilder(MessageBuilder.Type.INST).addDetails(instID).addDetails(e));
+            }
+        }
+    }
+}
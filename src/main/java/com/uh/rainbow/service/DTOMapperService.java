@@ -115,16 +115,26 @@ public class DTOMapperService {
     public List<ScheduleDTO> toScheduleDTOs(List<PotentialSchedule> schedules) {
         List<ScheduleDTO> scheduleDTOs = new ArrayList<>();
 
-        for (PotentialSchedule schedule : schedules) {
-            // Convert each schedule to DTO
-            ScheduleDTO.ScheduleDTOBuilder builder = new ScheduleDTO.ScheduleDTOBuilder();
-            for (Section section : schedule.getSections()) {
-                section.getMeetings().forEach(
-                        (m) -> builder.addScheduleMeetingDTO(m.getDay(), toScheduleMeetingDTO(section, m))
-                );
-            }
-            scheduleDTOs.add(builder.build());
-        }
+        // Convert each schedule to DTO
+        for (PotentialSchedule schedule : schedules)
+            scheduleDTOs.add(toScheduleDTO(schedule));
+
         return scheduleDTOs;
     }
+
+    /**
+     * Convert a Potential Schedule into a DTO
+     *
+     * @param schedule Schedule to convert
+     * @return Schedule DTO
+     */
+    public ScheduleDTO toScheduleDTO(PotentialSchedule schedule) {
+        ScheduleDTO.ScheduleDTOBuilder builder = new ScheduleDTO.ScheduleDTOBuilder();
+        for (Section section : schedule.getSections()) {
+            section.getMeetings().forEach(
+                    (m) -> builder.addScheduleMeetingDTO(m.getDay(), toScheduleMeetingDTO(section, m))
+            );
+        }
+        return builder.build();
+    }
 }
@@ -1,11 +1,25 @@
 package com.uh.rainbow.service;
 
 import com.uh.rainbow.dto.identifier.IdentifierDTO;
+import com.uh.rainbow.dto.metrics.ParserMetricsDTO;
+import com.uh.rainbow.dto.metrics.UpstreamMetricsDTO;
 import com.uh.rainbow.entities.Section;
+import com.uh.rainbow.exception.NotModifiedException;
 import com.uh.rainbow.exception.SectionNotFoundException;
+import com.uh.rainbow.exception.UpstreamUnavailableException;
+import com.uh.rainbow.util.ElementRowSource;
 import com.uh.rainbow.util.RowCursor;
+import com.uh.rainbow.util.RowSource;
 import com.uh.rainbow.util.SourceURL;
+import com.uh.rainbow.util.StreamingRowSource;
+import com.uh.rainbow.util.cache.ContentHash;
+import com.uh.rainbow.util.cache.SectionCache;
+import com.uh.rainbow.util.cache.SectionTable;
+import com.uh.rainbow.util.cache.SingleFlight;
+import com.uh.rainbow.util.cache.TermDictionary;
+import com.uh.rainbow.util.cache.TermSnapshotStore;
 import com.uh.rainbow.util.filter.CourseFilter;
+import com.uh.rainbow.util.http.FetchResponse;
 import com.uh.rainbow.util.logging.Logger;
 import com.uh.rainbow.util.logging.MessageBuilder;
 import org.jsoup.HttpStatusException;
@@ -15,14 +29,23 @@ import org.jsoup.select.Elements;
 import org.springframework.stereotype.Service;
 
 import java.io.IOException;
+import java.lang.ref.WeakReference;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.time.Instant;
 import java.util.ArrayList;
-import java.util.LinkedList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
-import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -35,10 +58,38 @@ import java.util.regex.Pattern;
  */
 @Service
 public class HTMLParserService {
-    private static final int MAX_THREADS = 50;
-    private final ForkJoinPool THREAD_POOL = new ForkJoinPool(MAX_THREADS);
+    private static final ExecutorService FETCH_EXECUTOR = Executors.newVirtualThreadPerTaskExecutor();    // upstream concurrency is capped by the fetcher
+    private static final Duration CACHE_TTL = Duration.ofMinutes(10);
+    private static final Duration CACHE_MAX_STALE = Duration.ofHours(1);
+    private static final int CACHE_MAX_SECTIONS = 100_000;
+    private static final Duration SNAPSHOT_INTERVAL = Duration.ofMinutes(5);     // min time between request driven snapshots of a term
+    private static final SectionCache SECTION_CACHE = new SectionCache(CACHE_TTL, CACHE_MAX_STALE, CACHE_MAX_SECTIONS);    // shared across controllers
+    private static final SingleFlight<SourceURL, SectionTable> SECTION_FLIGHTS = new SingleFlight<>();
+    private static final SingleFlight<SourceURL, List<IdentifierDTO>> SUBJECT_FLIGHTS = new SingleFlight<>();
+    private static final TermSnapshotStore SNAPSHOT_STORE = new TermSnapshotStore(Path.of("snapshots"));
+    private static final Map<SourceURL, Boolean> RESTORED_TERMS = new ConcurrentHashMap<>();       // terms a restore has been attempted for
+    private static final Map<SourceURL, List<IdentifierDTO>> TERM_SUBJECTS = new ConcurrentHashMap<>();    // subjects of restored or crawled terms
+    private static final Map<SourceURL, WeakReference<TermDictionary>> TERM_DICTIONARIES = new ConcurrentHashMap<>();    // strings shared by the pages of a term, held by its cached tables
+    private static final AtomicLong NUM_PAGES_SKIPPED = new AtomicLong();
+    private static final AtomicLong NUM_PAGES_PARSED = new AtomicLong();
+    private static final AtomicLong NUM_SECTIONS_REUSED = new AtomicLong();
+    private static final AtomicLong NUM_SECTIONS_PARSED = new AtomicLong();
+    private static final AtomicLong NUM_PAGES_STALE = new AtomicLong();
+    private static final Set<SourceURL> REVALIDATING = ConcurrentHashMap.newKeySet();     // pages with a background refresh queued
+    private static final Set<SourceURL> DIRTY_TERMS = ConcurrentHashMap.newKeySet();      // terms with pages fetched since last snapshot
+    private static final Map<SourceURL, Instant> SNAPSHOT_TIMES = new ConcurrentHashMap<>();     // time each term's snapshot was last saved
+    private static volatile boolean streamingParser = false;  // read course tables row by row instead of parsing the whole page
     public static final Logger LOGGER = new Logger(HTMLParserService.class);
 
+    /**
+     * Sections and how old the data they were parsed from is
+     *
+     * @param sections Filtered sections
+     * @param age      Time since the oldest page was fetched, zero if fetched for this request
+     */
+    public record AgedSections(List<Section> sections, Duration age) {
+    }
+
     /**
      * Regex parser that extracts params from an url
      */
@@ -144,10 +195,30 @@ public class HTMLParserService {
      * @throws IOException Fail to get html
      */
     public List<IdentifierDTO> parseSubjects(String instID, String termID) throws IOException {
+        // Share result with any concurrent requests for the same term
+        SourceURL source = new SourceURL(instID, termID);
+        try {
+            return SUBJECT_FLIGHTS.load(source, () -> parseSubjects(source));
+        } catch (UpstreamUnavailableException e) {
+            // UH is down, use last known subjects if any instead of failing
+            List<IdentifierDTO> subjects = TERM_SUBJECTS.get(source);
+            if (subjects == null)
+                throw e;
+            return subjects;
+        }
+    }
+
+    /**
+     * Fetch and parse the list of available subjects for an institution and term
+     *
+     * @param source Source URL of term
+     * @return List of subject ids and names
+     * @throws IOException Fail to get html
+     */
+    private List<IdentifierDTO> parseSubjects(SourceURL source) throws IOException {
         List<IdentifierDTO> identifiers = new ArrayList<>();
         Instant start = Instant.now();
         // Get each subject col
-        SourceURL source = new SourceURL(instID, termID);
         Document doc = source.query();
 
         Elements leftSubjects = doc
@@ -185,39 +256,280 @@ public class HTMLParserService {
      * @throws IOException Fail to get html
      */
     public List<Section> parseSections(CourseFilter cf, String instID, String termID, String subjectID) throws IOException {
+        return parseAgedSections(cf, instID, termID, subjectID).sections();
+    }
+
+    /**
+     * Parse the list of available sections for an institution, term, and subject
+     * Expired sections are returned right away and refreshed in the background
+     *
+     * @param cf        Filter to use to parse sections
+     * @param instID    Institution ID
+     * @param termID    term ID
+     * @param subjectID subject ID
+     * @return List of courses available and how old they are
+     * @throws IOException Fail to get html
+     */
+    public AgedSections parseAgedSections(CourseFilter cf, String instID, String termID, String subjectID) throws IOException {
         Instant start = Instant.now();
-        // Get each subject col
         SourceURL source = new SourceURL(instID, termID, subjectID);
-        Document doc = source.query();
 
-        // Parse all courses
-        List<Section> sections = new LinkedList<>();
-        RowCursor cur = new RowCursor(source, Objects.requireNonNull(doc.selectFirst("tbody")).select("tr"));
-        while (cur.findSection()) {
+        // Use cached sections if available, else fetch and cache
+        // Concurrent requests for the same page share a single fetch
+        SectionTable allSections;
+        Duration age = Duration.ZERO;
+        SectionCache.Lookup cached = SECTION_CACHE.lookup(source);
+        if (cached == null) {
+            allSections = SECTION_FLIGHTS.load(source, () -> loadSections(source));
+        } else {
+            allSections = cached.table();
+            age = cached.age();
+            // Serve stale sections now, refresh for next time
+            if (cached.stale())
+                revalidate(source);
+        }
+
+        // Filter on unfiltered sections, only creating the sections that pass
+        List<Section> sections = new ArrayList<>();
+        for (int row = 0; row < allSections.size(); row++) {
+            if (cf.validSection(allSections, row))
+                sections.add(allSections.getSection(row));
+        }
+
+        LOGGER.info(new MessageBuilder(MessageBuilder.Type.COURSE)
+                .addDetails(source)
+                .addDetails("Found %s section%s".formatted(sections.size(), sections.size() == 1 ? "" : "s"))
+                .setDuration(start));
+
+        return new AgedSections(sections, age);
+    }
+
+    /**
+     * Refresh the sections of a subject page in the background, only one refresh
+     * per page is queued at a time
+     *
+     * @param source Source URL of subject page
+     */
+    private void revalidate(SourceURL source) {
+        if (!REVALIDATING.add(source))
+            return;
+
+        FETCH_EXECUTOR.execute(() -> {
             try {
-                // Get section info
-                Section section = cur.getSection();
+                SECTION_FLIGHTS.load(source, () -> fetchSections(source));
+            } catch (IOException e) {
+                // Keep serving stale sections until they're too old
+                LOGGER.warn(new MessageBuilder(MessageBuilder.Type.COURSE).addDetails(source).addDetails(e));
+            } finally {
+                REVALIDATING.remove(source);
+            }
+        });
+    }
 
-                // Skip if invalid
-                if (!cf.validSection(section))
-                    continue;
+    /**
+     * Fetch, parse, and cache every section of a subject page
+     *
+     * @param source Source URL of subject page
+     * @return All sections on the page
+     * @throws IOException Fail to get html
+     */
+    private SectionTable loadSections(SourceURL source) throws IOException {
+        // Previous flight may have finished between the cache miss and starting this one
+        SectionTable sections = SECTION_CACHE.peek(source);
+        if (sections != null)
+            return sections;
 
-                // Add valid course
-                sections.add(section);
+        return fetchSections(source);
+    }
 
+    /**
+     * Fetch, parse, and cache every section of a subject page, replacing any cached sections.
+     * Unchanged pages and sections from the previous fetch are reused instead of parsed again
+     *
+     * @param source Source URL of subject page
+     * @return All sections on the page
+     * @throws IOException Fail to get html
+     */
+    private SectionTable fetchSections(SourceURL source) throws IOException {
+        Instant start = Instant.now();
+        SectionCache.Fingerprint previous = SECTION_CACHE.getFingerprint(source);
+
+        // Only ask if modified if there are previous sections to fall back on
+        FetchResponse response;
+        try {
+            response = previous == null ? source.fetch() : source.fetchIfModified();
+        } catch (NotModifiedException e) {
+            return reuseSections(source, previous, start);
+        } catch (UpstreamUnavailableException e) {
+            // UH is down, serve stale sections if any instead of failing
+            if (previous == null)
+                throw e;
+            NUM_PAGES_STALE.incrementAndGet();
+            LOGGER.warn(new MessageBuilder(MessageBuilder.Type.COURSE)
+                    .addDetails(source)
+                    .addDetails("UH unavailable, serving stale sections"));
+            return previous.table();
+        }
+
+        // Page hasn't changed, keep previous sections
+        long pageHash = ContentHash.of(response.body());
+        if (previous != null && previous.pageHash() == pageHash) {
+            SectionTable sections = reuseSections(source, previous, start);
+            source.saveValidators(response);
+            return sections;
+        }
+
+        // Parse page, reusing any sections with unchanged rows
+        NUM_PAGES_PARSED.incrementAndGet();
+        RowSource rows = streamingParser
+                ? new StreamingRowSource(response.reader(), response.url())
+                : new ElementRowSource(Objects.requireNonNull(response.parse().selectFirst("tbody")).select("tr"));
+        TermDictionary dictionary = getTermDictionary(new SourceURL(source.getInstID(), source.getTermID()));
+        Map<Long, Section> hashedSections = parseAllSections(source, rows, previous, dictionary);
+        SectionTable sections = new SectionTable(source, new ArrayList<>(hashedSections.values()), dictionary);
+        long[] sectionHashes = hashedSections.keySet().stream().mapToLong(Long::longValue).toArray();
+        SECTION_CACHE.put(source, sections, new SectionCache.Fingerprint(pageHash, sections, sectionHashes));
+        source.saveValidators(response);     // only once cached so a failed parse isn't skipped next time with a 304
+        DIRTY_TERMS.add(new SourceURL(source.getInstID(), source.getTermID()));
+        return sections;
+    }
+
+    /**
+     * Re-cache the previous sections of an unchanged subject page
+     *
+     * @param source   Source URL of subject page
+     * @param previous Fingerprint of the previous fetch of the page
+     * @param start    Start time of the fetch
+     * @return All sections on the page
+     */
+    private SectionTable reuseSections(SourceURL source, SectionCache.Fingerprint previous, Instant start) {
+        SectionTable sections = previous.table();
+        SECTION_CACHE.put(source, sections, previous);
+        NUM_PAGES_SKIPPED.incrementAndGet();
+        LOGGER.debug(new MessageBuilder(MessageBuilder.Type.COURSE)
+                .addDetails(source)
+                .addDetails("Unchanged, skipped parse")
+                .setDuration(start));
+        return sections;
+    }
+
+    /**
+     * Parse every section of a subject page
+     *
+     * @param source     Source URL of subject page
+     * @param rows       Rows of the course table of the subject page
+     * @param previous   Fingerprint of the previous fetch of the page, null if none
+     * @param dictionary Dictionary to share strings with the other pages of the term
+     * @return All sections on the page keyed by the hash of their rows, in page order
+     */
+    private Map<Long, Section> parseAllSections(SourceURL source, RowSource rows, SectionCache.Fingerprint previous, TermDictionary dictionary) {
+        Instant start = Instant.now();
+
+        // Parse all courses
+        Map<Long, Section> sections = new LinkedHashMap<>();
+        Map<Long, Integer> previousRows = previous == null ? Map.of() : previous.getRowsByHash();
+        int numReused = 0;
+        RowCursor cur = new RowCursor(source, rows, dictionary);
+        while (cur.findSection()) {
+            try {
+                // Only parse sections that changed
+                long hash = cur.hashSection();
+                Integer unchanged = previousRows.get(hash);
+                if (unchanged == null) {
+                    sections.put(hash, cur.getSection());
+                } else {
+                    sections.put(hash, cur.reuseSection(previous.table().getSection(unchanged)));
+                    numReused++;
+                }
             } catch (SectionNotFoundException e) {
-                LOGGER.info(new MessageBuilder(MessageBuilder.Type.COURSE).addDetails(instID, termID, subjectID).addDetails(e));
+                LOGGER.info(new MessageBuilder(MessageBuilder.Type.COURSE).addDetails(source).addDetails(e));
             }
         }
+        NUM_SECTIONS_REUSED.addAndGet(numReused);
+        NUM_SECTIONS_PARSED.addAndGet(sections.size() - numReused);
 
-        LOGGER.info(new MessageBuilder(MessageBuilder.Type.COURSE)
+        LOGGER.debug(new MessageBuilder(MessageBuilder.Type.COURSE)
                 .addDetails(source)
-                .addDetails("Found %s section%s".formatted(sections.size(), sections.size() == 1 ? "" : "s"))
+                .addDetails("Parsed %s section%s, reused %s".formatted(sections.size() - numReused, sections.size() - numReused == 1 ? "" : "s", numReused))
                 .setDuration(start));
 
         return sections;
     }
 
+    /**
+     * Set how subject pages are parsed
+     *
+     * @param streaming True to read course tables row by row, false to parse the whole page first
+     */
+    public static void setStreamingParser(boolean streaming) {
+        streamingParser = streaming;
+    }
+
+    /**
+     * @return Snapshot of the section cache metrics
+     */
+    public SectionCache.Stats getCacheStats() {
+        return SECTION_CACHE.getStats();
+    }
+
+    /**
+     * @return Counts of pages and sections parsed vs reused from the previous fetch
+     */
+    public ParserMetricsDTO getParserMetrics() {
+        return new ParserMetricsDTO(
+                NUM_PAGES_SKIPPED.get(),
+                NUM_PAGES_PARSED.get(),
+                NUM_SECTIONS_REUSED.get(),
+                NUM_SECTIONS_PARSED.get(),
+                getTermDictionaries().stream().mapToLong(TermDictionary::size).sum(),
+                getTermDictionaries().stream().mapToLong(TermDictionary::getNumDuplicates).sum()
+        );
+    }
+
+    /**
+     * Get the dictionary shared by the pages of a term, creating a new one if none of
+     * the term's pages are cached anymore
+     *
+     * @param termSource Source URL of term
+     * @return Dictionary of the term
+     */
+    private static TermDictionary getTermDictionary(SourceURL termSource) {
+        TermDictionary[] dictionary = new TermDictionary[1];
+        TERM_DICTIONARIES.compute(termSource, (k, ref) -> {
+            dictionary[0] = ref == null ? null : ref.get();
+            if (dictionary[0] != null)
+                return ref;
+            dictionary[0] = new TermDictionary();
+            return new WeakReference<>(dictionary[0]);
+        });
+        return dictionary[0];
+    }
+
+    /**
+     * Get the dictionaries of terms that still have cached pages, dropping the rest
+     *
+     * @return Live term dictionaries
+     */
+    private static List<TermDictionary> getTermDictionaries() {
+        TERM_DICTIONARIES.values().removeIf((ref) -> ref.get() == null);
+        return TERM_DICTIONARIES.values().stream().map(WeakReference::get).filter(Objects::nonNull).toList();
+    }
+
+    /**
+     * @return Counts of requests that shared an in flight fetch, conditional requests answered with 304,
+     * and requests limited or rejected to protect UH
+     */
+    public UpstreamMetricsDTO getUpstreamMetrics() {
+        return new UpstreamMetricsDTO(
+                SECTION_FLIGHTS.getNumShared() + SUBJECT_FLIGHTS.getNumShared(),
+                SourceURL.getNumNotModified(),
+                SourceURL.getRateLimiter().getNumThrottled(),
+                SourceURL.getCircuitBreaker().getState().name(),
+                SourceURL.getCircuitBreaker().getNumRejected(),
+                NUM_PAGES_STALE.get()
+        );
+    }
+
     /**
      * Parse the list of available sections for an institution and term
      * using the subjects permitted in the course filter
@@ -229,12 +541,34 @@ public class HTMLParserService {
      * @throws IOException Fail to get html
      */
     public List<Section> parseSections(CourseFilter cf, String instID, String termID) throws IOException {
-        // Get all available subjects
+        return parseAgedSections(cf, instID, termID).sections();
+    }
+
+    /**
+     * Parse the list of available sections for an institution and term
+     * using the subjects permitted in the course filter. Expired sections are
+     * returned right away and refreshed in the background
+     *
+     * @param cf     Filter to use to parse sections
+     * @param instID Institution ID
+     * @param termID term ID
+     * @return List of courses available and the age of the oldest subject page
+     * @throws IOException Fail to get html
+     */
+    public AgedSections parseAgedSections(CourseFilter cf, String instID, String termID) throws IOException {
         Instant start = Instant.now();
-        List<IdentifierDTO> subjects = parseSubjects(instID, termID);
+        SourceURL termSource = new SourceURL(instID, termID);
+
+        // Restore term from disk on first request
+        RESTORED_TERMS.computeIfAbsent(termSource, (k) -> restoreSnapshot(instID, termID));
+
+        // Get all available subjects
+        List<IdentifierDTO> subjects = TERM_SUBJECTS.get(termSource);
+        if (subjects == null)
+            subjects = parseSubjects(instID, termID);
 
         // Parse each subject for courses
-        List<CompletableFuture<List<Section>>> futures = new ArrayList<>();
+        List<CompletableFuture<AgedSections>> futures = new ArrayList<>();
         for (IdentifierDTO s : subjects) {
 
             // skip if not in filter
@@ -247,36 +581,217 @@ public class HTMLParserService {
                     .supplyAsync(() -> {
                         try {
                             // Attempt to parse
-                            return parseSections(cf, instID, termID, s.id());
+                            return parseAgedSections(cf, instID, termID, s.id());
                         } catch (HttpStatusException e) {
                             // Report html access failure, add to failed sources and continue
                             LOGGER.warn(new MessageBuilder(MessageBuilder.Type.COURSE).addDetails("Skipping %s".formatted(source)));
+                        } catch (UpstreamUnavailableException e) {
+                            // UH is down and nothing cached, skip without waiting on it
+                            LOGGER.warn(new MessageBuilder(MessageBuilder.Type.COURSE).addDetails("Skipping %s, UH unavailable".formatted(source)));
                         } catch (IOException e) {
                             // Internal server error, add to failed sources and continue
                             LOGGER.error(new MessageBuilder(MessageBuilder.Type.COURSE).addDetails(e));
                         }
-                        return new ArrayList<>();   // empty results
-                    }, THREAD_POOL));
+                        return new AgedSections(new ArrayList<>(), Duration.ZERO);   // empty results
+                    }, FETCH_EXECUTOR));
         }
         // Join each thread / wait for each to finish
         futures.forEach(CompletableFuture::join);
 
         // Get all results
         List<Section> sections = new ArrayList<>();
-        for (CompletableFuture<List<Section>> result : futures) {
+        Duration age = Duration.ZERO;
+        for (CompletableFuture<AgedSections> result : futures) {
             try {
-                sections.addAll(result.get());
+                sections.addAll(result.get().sections());
+                if (result.get().age().compareTo(age) > 0)
+                    age = result.get().age();
             } catch (ExecutionException | InterruptedException e) {
                 LOGGER.error(new MessageBuilder(MessageBuilder.Type.COURSE).addDetails(e));
             }
         }
 
+        // Save any newly fetched pages, at most once per interval so single page fetches don't rewrite the term every request
+        if (DIRTY_TERMS.contains(termSource) && claimSnapshot(termSource) && DIRTY_TERMS.remove(termSource)) {
+            List<IdentifierDTO> termSubjects = subjects;
+            FETCH_EXECUTOR.execute(() -> saveSnapshot(instID, termID, termSubjects));
+        }
+
         // Report Success and return results
         int numSites = futures.size();
         LOGGER.info(new MessageBuilder(MessageBuilder.Type.COURSE)
                 .addDetails("Parsed %s site%s".formatted(numSites, numSites == 1 ? "" : "s"))
                 .setDuration(start));
-        return sections;
+        return new AgedSections(sections, age);
+    }
+
+    /**
+     * Restore the subjects and sections of a term from disk and refresh them in the background
+     *
+     * @param instID Institution ID
+     * @param termID term ID
+     * @return True if a snapshot was restored, false otherwise
+     */
+    private boolean restoreSnapshot(String instID, String termID) {
+        Instant start = Instant.now();
+        SourceURL termSource = new SourceURL(instID, termID);
+        try {
+            TermSnapshotStore.Snapshot snapshot = SNAPSHOT_STORE.load(instID, termID);
+            if (snapshot == null)
+                return false;
+
+            // Cache restored pages as of when they were saved, don't overwrite anything fetched in the meantime
+            for (Map.Entry<String, List<Section>> page : snapshot.sections().entrySet())
+                SECTION_CACHE.restore(new SourceURL(instID, termID, page.getKey()), page.getValue(), snapshot.savedAt());
+            TERM_SUBJECTS.put(termSource, snapshot.subjects());
+
+            int numPages = snapshot.sections().size();
+            LOGGER.info(new MessageBuilder(MessageBuilder.Type.COURSE)
+                    .addDetails(termSource)
+                    .addDetails("Restored %s subject page%s saved at %s".formatted(numPages, numPages == 1 ? "" : "s", snapshot.savedAt()))
+                    .setDuration(start));
+
+            // Replace restored data with live data
+            FETCH_EXECUTOR.execute(() -> refreshTerm(instID, termID, snapshot.sections().keySet()));
+            return true;
+        } catch (IOException e) {
+            // Bad snapshot, fallback to fetching
+            LOGGER.warn(new MessageBuilder(MessageBuilder.Type.COURSE).addDetails(termSource).addDetails(e));
+            return false;
+        }
+    }
+
+    /**
+     * Crawl every subject page of a term, replacing any cached sections, and save a new snapshot
+     * Used to pre-warm the cache so requests don't have to wait on UH
+     *
+     * @param instID Institution ID
+     * @param termID term ID
+     * @param delay  Time to wait between subject pages
+     * @throws IOException Fail to get subjects
+     */
+    public void crawlTerm(String instID, String termID, Duration delay) throws IOException {
+        // Get latest subjects
+        SourceURL termSource = new SourceURL(instID, termID);
+        List<IdentifierDTO> subjects = SUBJECT_FLIGHTS.load(termSource, () -> parseSubjects(termSource));
+        TERM_SUBJECTS.put(termSource, subjects);
+
+        refreshPages(instID, termID, subjects.stream().map(IdentifierDTO::id).toList(), delay);
+    }
+
+    /**
+     * Re-fetch the subjects and subject pages of a term and save a new snapshot
+     *
+     * @param instID     Institution ID
+     * @param termID     term ID
+     * @param subjectIDs Subject pages to re-fetch
+     */
+    private void refreshTerm(String instID, String termID, Collection<String> subjectIDs) {
+        SourceURL termSource = new SourceURL(instID, termID);
+
+        // Update subjects, keep restored subjects if fail
+        try {
+            TERM_SUBJECTS.put(termSource, SUBJECT_FLIGHTS.load(termSource, () -> parseSubjects(termSource)));
+        } catch (IOException e) {
+            LOGGER.warn(new MessageBuilder(MessageBuilder.Type.SUBJECT).addDetails(termSource).addDetails(e));
+        }
+
+        refreshPages(instID, termID, subjectIDs, Duration.ZERO);
+    }
+
+    /**
+     * Re-fetch subject pages of a term one at a time and save a new snapshot
+     *
+     * @param instID     Institution ID
+     * @param termID     term ID
+     * @param subjectIDs Subject pages to re-fetch
+     * @param delay      Time to wait between subject pages
+     */
+    private void refreshPages(String instID, String termID, Collection<String> subjectIDs, Duration delay) {
+        Instant start = Instant.now();
+        SourceURL termSource = new SourceURL(instID, termID);
+
+        // Start a new dictionary so strings only used by old versions of the pages are dropped with them
+        TermDictionary dictionary = new TermDictionary();
+        TERM_DICTIONARIES.put(termSource, new WeakReference<>(dictionary));
+
+        // Update pages one at a time to not flood UH
+        int numFetched = 0;
+        int numRefreshed = 0;
+        for (String subjectID : subjectIDs) {
+            SourceURL source = new SourceURL(instID, termID, subjectID);
+            try {
+                // Rate limit
+                if (numFetched++ != 0)
+                    Thread.sleep(delay);
+
+                SECTION_FLIGHTS.load(source, () -> fetchSections(source));
+                numRefreshed++;
+            } catch (InterruptedException e) {
+                // Stop early, still save what was refreshed
+                Thread.currentThread().interrupt();
+                break;
+            } catch (IOException e) {
+                LOGGER.warn(new MessageBuilder(MessageBuilder.Type.COURSE).addDetails(source).addDetails(e));
+            }
+        }
+
+        DIRTY_TERMS.remove(termSource);
+        saveSnapshot(instID, termID, TERM_SUBJECTS.get(termSource));
+
+        // Report how many strings the refreshed pages stored and how many copies sharing avoided
+        LOGGER.info(new MessageBuilder(MessageBuilder.Type.COURSE)
+                .addDetails(termSource)
+                .addDetails("Refreshed %s subject page%s".formatted(numRefreshed, numRefreshed == 1 ? "" : "s"))
+                .addDetails("%s unique string%s, %s duplicate%s shared".formatted(
+                        dictionary.size(), dictionary.size() == 1 ? "" : "s",
+                        dictionary.getNumDuplicates(), dictionary.getNumDuplicates() == 1 ? "" : "s"))
+                .setDuration(start));
+    }
+
+    /**
+     * Claim the next request driven snapshot of a term if the last one is older than the snapshot interval
+     *
+     * @param termSource Source URL of the term
+     * @return True if the caller should save the snapshot, false otherwise
+     */
+    private static boolean claimSnapshot(SourceURL termSource) {
+        Instant now = Instant.now();
+        Instant last = SNAPSHOT_TIMES.get(termSource);
+        if (last == null)
+            return SNAPSHOT_TIMES.putIfAbsent(termSource, now) == null;
+        return now.isAfter(last.plus(SNAPSHOT_INTERVAL)) && SNAPSHOT_TIMES.replace(termSource, last, now);
+    }
+
+    /**
+     * Save the cached subject pages of a term to disk
+     *
+     * @param instID   Institution ID
+     * @param termID   term ID
+     * @param subjects Subjects offered in the term
+     */
+    private void saveSnapshot(String instID, String termID, List<IdentifierDTO> subjects) {
+        Instant start = Instant.now();
+        SourceURL termSource = new SourceURL(instID, termID);
+
+        // Get every cached page of the term
+        Map<String, List<Section>> pages = new LinkedHashMap<>();
+        for (IdentifierDTO subject : subjects) {
+            SectionTable sections = SECTION_CACHE.peek(new SourceURL(instID, termID, subject.id()));
+            if (sections != null)
+                pages.put(subject.id(), sections.getSections());
+        }
+
+        try {
+            SNAPSHOT_STORE.save(instID, termID, subjects, pages);
+            SNAPSHOT_TIMES.put(termSource, Instant.now());
+            LOGGER.info(new MessageBuilder(MessageBuilder.Type.COURSE)
+                    .addDetails(termSource)
+                    .addDetails("Saved snapshot of %s subject page%s".formatted(pages.size(), pages.size() == 1 ? "" : "s"))
+                    .setDuration(start));
+        } catch (IOException e) {
+            LOGGER.error(new MessageBuilder(MessageBuilder.Type.COURSE).addDetails(termSource).addDetails(e));
+        }
     }
 
 
@@ -4,13 +4,20 @@ import com.uh.rainbow.entities.PotentialSchedule;
 import com.uh.rainbow.entities.Section;
 import com.uh.rainbow.util.logging.Logger;
 import com.uh.rainbow.util.logging.MessageBuilder;
+import com.uh.rainbow.util.schedule.ConflictMatrix;
+import com.uh.rainbow.util.schedule.ScheduleCursor;
+import com.uh.rainbow.util.schedule.ScheduleObjective;
 import org.springframework.stereotype.Service;
 
 import java.time.Instant;
 import java.util.ArrayList;
-import java.util.HashSet;
+import java.util.Comparator;
 import java.util.List;
-import java.util.Set;
+import java.util.PriorityQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 
 /**
  * <b>File:</b> SchedulerService.java
@@ -23,67 +30,344 @@ import java.util.Set;
 public class SchedulerService {
     public static final Logger LOGGER = new Logger(SchedulerService.class);
 
+    private static final ForkJoinPool SOLVER_POOL = new ForkJoinPool();   // defaults to one worker per core
+    private static final long SPLIT_THRESHOLD = 512;    // max estimated leaves to solve sequentially in one task
+
     /**
-     * Scheduler that generates valid schedules
+     * Attempt to solve a partially completed potentialSchedule
+     *
+     * @param potentialSchedule Starting potentialSchedule to complete
+     * @param sink              Consumer to pass each complete schedule to as soon as it is found
      */
-    private static class Scheduler {
-        private final Set<String> requiredCourses = new HashSet<>();
-        private final PotentialSchedule seed;
+    private static void solve(PotentialSchedule potentialSchedule, Consumer<PotentialSchedule> sink) {
+        // Checked once per node, totals are reported once per request
+        boolean debug = LOGGER.isDebugEnabled();
+
+        // Add new potentialSchedule if has all courses, each schedule is only reached once
+        if (potentialSchedule.isComplete()) {
+            if (debug)
+                LOGGER.debug(new MessageBuilder(MessageBuilder.Type.SCHEDULE).addDetails("Found new schedule", potentialSchedule));
+            sink.accept(potentialSchedule);
+        }
+
+        // Solve each successor potentialSchedule
+        if (debug && !potentialSchedule.isEmpty())
+            LOGGER.debug(new MessageBuilder(MessageBuilder.Type.SCHEDULE).addDetails("Attempting to solve", potentialSchedule));
+        potentialSchedule.getSuccessors().forEach((successor) -> solve(successor, sink));
+
+        // When reach here, all potential solutions have been found
+        if (debug && !potentialSchedule.isEmpty())
+            LOGGER.debug(new MessageBuilder(MessageBuilder.Type.SCHEDULE).addDetails("All schedules exhausted for", potentialSchedule));
+    }
+
+    /**
+     * Fork join task that solves a partially completed potentialSchedule in parallel
+     */
+    private static class SolveTask extends RecursiveTask<List<PotentialSchedule>> {
+        private final PotentialSchedule potentialSchedule;
+
+        /**
+         * Create a new solve task
+         *
+         * @param potentialSchedule Starting potentialSchedule to complete
+         */
+        public SolveTask(PotentialSchedule potentialSchedule) {
+            this.potentialSchedule = potentialSchedule;
+        }
+
+        /**
+         * Estimate the number of leaves under this schedule using the remaining sections of each missing course
+         *
+         * @return Upper bound of schedules left to explore, capped at the split threshold
+         */
+        private long estimateLeaves() {
+            long leaves = 1;
+            for (int course = 0; course < this.potentialSchedule.getNumCourses() && leaves <= SPLIT_THRESHOLD; course++) {
+                if (!this.potentialSchedule.hasCourse(course))
+                    leaves *= this.potentialSchedule.countRemainingSections(course);
+            }
+            return leaves;
+        }
+
+        @Override
+        protected List<PotentialSchedule> compute() {
+            List<PotentialSchedule> results = new ArrayList<>();
+
+            // Small subtree, solve in this thread
+            if (estimateLeaves() <= SPLIT_THRESHOLD) {
+                solve(this.potentialSchedule, results::add);
+                return results;
+            }
+
+            // Split by the sections of the next course; every schedule has exactly one so subtrees never overlap
+            List<SolveTask> subtasks = this.potentialSchedule.getSuccessors().stream().map(SolveTask::new).toList();
+            invokeAll(subtasks);
+            subtasks.forEach((subtask) -> results.addAll(subtask.join()));
+            return results;
+        }
+    }
+
+    /**
+     * Page of schedules
+     *
+     * @param schedules  Schedules in this page
+     * @param nextCursor Cursor to resume the search from, null if no more schedules
+     */
+    public record SchedulePage(List<PotentialSchedule> schedules, String nextCursor) {
+    }
+
+    /**
+     * Solver that stops once a page is full and can resume from a cursor
+     */
+    private static class PagedSolver {
+        private final ScheduleCursor resumeFrom;
+        private final int limit;
+        private final int[] path;
         private final List<PotentialSchedule> results = new ArrayList<>();
+        private ScheduleCursor last = null;
+        private boolean hasMore = false;
 
         /**
-         * Create a new Scheduler
+         * Create a new paged solver
          *
-         * @param sections Initial pool of sections to use
+         * @param resumeFrom Cursor of the last schedule already returned, null to start from the beginning
+         * @param limit      Max number of schedules to find
+         * @param numCourses Number of courses in each schedule
          */
-        public Scheduler(List<Section> sections) {
-            sections.forEach((s) -> this.requiredCourses.add(s.getCID()));
-            this.seed = new PotentialSchedule(sections);
+        public PagedSolver(ScheduleCursor resumeFrom, int limit, int numCourses) {
+            this.resumeFrom = resumeFrom;
+            this.limit = limit;
+            this.path = new int[numCourses];
         }
 
         /**
-         * Attempt to solve a partially completed potentialSchedule
+         * Attempt to solve a partially completed potentialSchedule in the same order as the sequential solver
          *
          * @param potentialSchedule Starting potentialSchedule to complete
+         * @param depth             Number of sections in the potentialSchedule
+         * @param onResumePath      True if every section so far matches the resume cursor
+         * @return True to keep searching, false once a schedule after the full page is found
          */
-        private void solve(PotentialSchedule potentialSchedule) {
-            // Add new potentialSchedule if has all courses and the result doesn't contain an equivalent potentialSchedule
-            if (potentialSchedule.isComplete(this.requiredCourses) && this.results.stream().noneMatch((s) -> s.isEquals(potentialSchedule))) {
-                LOGGER.info(new MessageBuilder(MessageBuilder.Type.SCHEDULE)
-                        .addDetails("Found new schedule")
-                        .addDetails(potentialSchedule)
-                );
+        private boolean solve(PotentialSchedule potentialSchedule, int depth, boolean onResumePath) {
+            if (potentialSchedule.isComplete()) {
+                // Skip the last schedule of the previous page
+                if (onResumePath)
+                    return true;
+
+                // Page is already full, this schedule only shows there is a next page
+                if (this.results.size() == this.limit) {
+                    this.hasMore = true;
+                    return false;
+                }
+
                 this.results.add(potentialSchedule);
+                this.last = new ScheduleCursor(this.path);
+                return true;
+            }
+
+            for (PotentialSchedule successor : potentialSchedule.getSuccessors()) {
+                int section = successor.getLastSection();
+                boolean onPath = false;
+
+                // Skip subtrees already explored by previous pages
+                if (onResumePath && depth < this.resumeFrom.length()) {
+                    if (section < this.resumeFrom.get(depth))
+                        continue;
+                    onPath = section == this.resumeFrom.get(depth);
+                }
+
+                this.path[depth] = section;
+                if (!solve(successor, depth + 1, onPath))
+                    return false;
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Branch and bound solver that keeps the best schedules for an objective
+     */
+    private static class RankedSolver {
+        /**
+         * Schedule with its score
+         *
+         * @param schedule Complete schedule
+         * @param score    Score of the schedule
+         */
+        private record RankedSchedule(PotentialSchedule schedule, int score) {
+        }
+
+        private final ScheduleObjective objective;
+        private final int k;
+        // Worst of the best schedules so far on top
+        private final PriorityQueue<RankedSchedule> best = new PriorityQueue<>(Comparator.comparingInt(RankedSchedule::score).reversed());
+        private int numPruned = 0;
+
+        /**
+         * Create a new ranked solver
+         *
+         * @param objective Objective to rank schedules by
+         * @param k         Number of schedules to keep
+         */
+        public RankedSolver(ScheduleObjective objective, int k) {
+            this.objective = objective;
+            this.k = k;
+        }
+
+        /**
+         * Attempt to solve a partially completed potentialSchedule, skipping it if it can't beat the current best
+         *
+         * @param potentialSchedule Starting potentialSchedule to complete
+         */
+        private void solve(PotentialSchedule potentialSchedule) {
+            // Prune if no completed schedule from here can beat the k-th best
+            if (this.best.size() == this.k && this.objective.bound(potentialSchedule) >= this.best.peek().score()) {
+                this.numPruned++;
+                return;
+            }
+
+            // Add schedule, replacing the k-th best if full
+            if (potentialSchedule.isComplete()) {
+                this.best.add(new RankedSchedule(potentialSchedule, this.objective.score(potentialSchedule.getSections())));
+                if (this.best.size() > this.k)
+                    this.best.poll();
+                return;
             }
 
-            // Solve each successor potentialSchedule
-            if (!potentialSchedule.getSections().isEmpty())
-                LOGGER.info(new MessageBuilder(MessageBuilder.Type.SCHEDULE).addDetails("Attempting to solve " + potentialSchedule));
             potentialSchedule.getSuccessors().forEach(this::solve);
+        }
+
+        /**
+         * @return Best schedules found, best first
+         */
+        public List<PotentialSchedule> getResults() {
+            return this.best.stream()
+                    .sorted(Comparator.comparingInt(RankedSchedule::score))
+                    .map(RankedSchedule::schedule)
+                    .toList();
+        }
+    }
+
+    /**
+     * Scheduler that generates valid schedules
+     */
+    private static class Scheduler {
+        private final ConflictMatrix matrix;
+        private final PotentialSchedule seed;
 
-            // When reach here, all potential solutions have been found
-            if (!potentialSchedule.getSections().isEmpty())
-                LOGGER.info(new MessageBuilder(MessageBuilder.Type.SCHEDULE).addDetails("All schedules exhausted for " + potentialSchedule));
+        /**
+         * Create a new Scheduler
+         *
+         * @param sections Initial pool of sections to use
+         */
+        public Scheduler(List<Section> sections) {
+            // Precompute all conflicts once so the search only uses bitwise operations
+            Instant start = Instant.now();
+            this.matrix = new ConflictMatrix(sections);
+            LOGGER.debug(new MessageBuilder(MessageBuilder.Type.SCHEDULE)
+                    .addDetails("Built conflict matrix for %s section%s".formatted(this.matrix.getNumSections(), this.matrix.getNumSections() == 1 ? "" : "s"))
+                    .setDuration(start));
+            this.seed = new PotentialSchedule(this.matrix);
         }
 
         /**
          * Entrypoint to recursive solver using initial values
          *
+         * @param parallel Split the search across the solver pool
          * @return List of valid potential schedules found
          */
-        public List<PotentialSchedule> solve() {
+        public List<PotentialSchedule> solve(boolean parallel) {
             // Solve seed and return results
             Instant start = Instant.now();
-            solve(this.seed);
-            // Log findings
+            List<PotentialSchedule> results;
+            if (parallel) {
+                results = SOLVER_POOL.invoke(new SolveTask(this.seed));
+            } else {
+                results = new ArrayList<>();
+                SchedulerService.solve(this.seed, results::add);
+            }
+
+            logFindings(start, results.size());
+            return results;
+        }
+
+        /**
+         * Entrypoint to recursive solver that streams schedules instead of collecting them
+         *
+         * @param sink Consumer to pass each schedule to as soon as it is found
+         * @return Number of valid potential schedules found
+         */
+        public int solve(Consumer<PotentialSchedule> sink) {
+            // Solve seed, only counting results
+            Instant start = Instant.now();
+            AtomicInteger numFound = new AtomicInteger();
+            SchedulerService.solve(this.seed, (schedule) -> {
+                numFound.incrementAndGet();
+                sink.accept(schedule);
+            });
+
+            logFindings(start, numFound.get());
+            return numFound.get();
+        }
+
+        /**
+         * Entrypoint to recursive solver that stops once a page of schedules is found
+         *
+         * @param cursor Cursor to resume the search from, null to start from the beginning
+         * @param limit  Max number of schedules to find
+         * @return Page of valid potential schedules found
+         * @throws IllegalArgumentException Invalid cursor
+         */
+        public SchedulePage solve(String cursor, int limit) {
+            // Resume search from cursor if any
+            Instant start = Instant.now();
+            PagedSolver solver = new PagedSolver(
+                    cursor == null ? null : ScheduleCursor.decode(cursor, this.matrix),
+                    limit,
+                    this.matrix.getNumCourses());
+            solver.solve(this.seed, 0, cursor != null);
+
+            logFindings(start, solver.results.size());
+
+            // Only point to a next page if a schedule was found after this one
+            String nextCursor = solver.hasMore ? solver.last.encode(this.matrix) : null;
+            return new SchedulePage(solver.results, nextCursor);
+        }
+
+        /**
+         * Entrypoint to recursive solver that only keeps the best schedules
+         *
+         * @param objective Objective to rank schedules by
+         * @param k         Number of schedules to keep
+         * @return Best valid potential schedules found, best first
+         */
+        public List<PotentialSchedule> solve(ScheduleObjective objective, int k) {
+            // Solve seed, pruning anything that can't make the top k
+            Instant start = Instant.now();
+            RankedSolver solver = new RankedSolver(objective, k);
+            solver.solve(this.seed);
+
+            LOGGER.info(new MessageBuilder(MessageBuilder.Type.SCHEDULE)
+                    .addDetails("Ranked by %s".formatted(objective.name().toLowerCase()))
+                    .addDetails("Pruned %s subtree%s".formatted(solver.numPruned, solver.numPruned == 1 ? "" : "s")));
+            List<PotentialSchedule> results = solver.getResults();
+            logFindings(start, results.size());
+            return results;
+        }
+
+        /**
+         * Report the number of schedules found
+         *
+         * @param start    Start time of the search
+         * @param numFound Number of schedules found
+         */
+        private void logFindings(Instant start, int numFound) {
             MessageBuilder mb = new MessageBuilder(MessageBuilder.Type.SCHEDULE).setDuration(start);
-            if (this.results.isEmpty()) {
+            if (numFound == 0) {
                 LOGGER.warn(mb.addDetails("No valid schedules found"));
             } else {
-                LOGGER.info(mb.addDetails("Found %s schedule%s".formatted(this.results.size(), this.results.size() == 1 ? "" : "s")));
+                LOGGER.info(mb.addDetails("Found %s schedule%s".formatted(numFound, numFound == 1 ? "" : "s")));
             }
-
-            return this.results;
         }
 
     }
@@ -91,11 +375,64 @@ public class SchedulerService {
     /**
      * Generate list of valid schedules
      *
+     * @param sections Pool of sections to build schedules from
      * @return List of valid schedules
      */
     public List<PotentialSchedule> schedule(List<Section> sections) {
+        return schedule(sections, false);
+    }
+
+    /**
+     * Generate list of valid schedules
+     *
+     * @param sections Pool of sections to build schedules from
+     * @param parallel Search for schedules across all cores
+     * @return List of valid schedules
+     */
+    public List<PotentialSchedule> schedule(List<Section> sections, boolean parallel) {
         // Generate all possible schedules
-        return new Scheduler(sections).solve();
+        return new Scheduler(sections).solve(parallel);
+    }
+
+    /**
+     * Generate a page of valid schedules
+     *
+     * @param sections Pool of sections to build schedules from
+     * @param cursor   Cursor from a previous page to resume from, null to start from the beginning
+     * @param limit    Max number of schedules to return
+     * @return Page of valid schedules
+     * @throws IllegalArgumentException Invalid cursor or limit
+     */
+    public SchedulePage schedule(List<Section> sections, String cursor, int limit) {
+        if (limit < 1)
+            throw new IllegalArgumentException("Limit must be at least 1");
+        return new Scheduler(sections).solve(cursor, limit);
+    }
+
+    /**
+     * Generate the best valid schedules for an objective
+     *
+     * @param sections  Pool of sections to build schedules from
+     * @param objective Objective to rank schedules by
+     * @param k         Max number of schedules to return
+     * @return Best valid schedules, best first
+     * @throws IllegalArgumentException Invalid k
+     */
+    public List<PotentialSchedule> rank(List<Section> sections, ScheduleObjective objective, int k) {
+        if (k < 1)
+            throw new IllegalArgumentException("Limit must be at least 1");
+        return new Scheduler(sections).solve(objective, k);
+    }
+
+    /**
+     * Generate valid schedules one at a time without holding onto them
+     *
+     * @param sections Pool of sections to build schedules from
+     * @param sink     Consumer to pass each schedule to as soon as it is found
+     * @return Number of valid schedules found
+     */
+    public int schedule(List<Section> sections, Consumer<PotentialSchedule> sink) {
+        return new Scheduler(sections).solve(sink);
     }
 
 }
@@ -0,0 +1,45 @@
+package com.uh.rainbow.util;
+
+import org.jsoup.select.Elements;
+
+/**
+ * <b>File:</b> ElementRowSource.java
+ * <p>
+ * <b>Description:</b> Row source over the rows of an already parsed document
+ *
+ * @author Derek Garcia
+ */
+public class ElementRowSource implements RowSource {
+
+    private final Elements rows;
+    private final Row[] cells;
+    private int position = 0;
+
+    /**
+     * Create new row source
+     *
+     * @param rows List of rows that compose a table
+     */
+    public ElementRowSource(Elements rows) {
+        this.rows = rows;
+        this.cells = new Row[rows.size()];
+    }
+
+    @Override
+    public Row peek(int offset) {
+        int index = this.position + offset;
+        if (index >= this.rows.size())
+            return null;
+
+        // Only select the cells of a row once, however many times it is looked at
+        if (this.cells[index] == null)
+            this.cells[index] = new Row(this.rows.get(index));
+        return this.cells[index];
+    }
+
+    @Override
+    public void pop() {
+        if (this.position < this.rows.size())
+            this.position++;
+    }
+}
@@ -0,0 +1,74 @@
+package com.uh.rainbow.util;
+
+import org.jsoup.nodes.Element;
+import org.jsoup.select.Elements;
+
+/**
+ * <b>File:</b> Row.java
+ * <p>
+ * <b>Description:</b> Index based view of the cells of a table row. Cells are selected once
+ * and the text of each cell is only extracted the first time it is read
+ *
+ * @author Derek Garcia
+ */
+public class Row {
+
+    private final Elements cells;
+    private final String[] text;
+    private final String[] titles;
+
+    /**
+     * Create new row
+     *
+     * @param row tr element of the row
+     */
+    public Row(Element row) {
+        this.cells = row.select("td");
+        this.text = new String[this.cells.size()];
+        this.titles = new String[this.cells.size()];
+    }
+
+    /**
+     * @return Number of cells in this row
+     */
+    public int size() {
+        return this.text.length;
+    }
+
+    /**
+     * Get the text of a cell
+     *
+     * @param cell Index of cell
+     * @return Normalized text of the cell
+     * @throws IndexOutOfBoundsException Row doesn't have the cell
+     */
+    public String text(int cell) {
+        if (this.text[cell] == null)
+            this.text[cell] = this.cells.get(cell).text();
+        return this.text[cell];
+    }
+
+    /**
+     * Get the title of the abbreviation in a cell, used for full instructor and room names
+     *
+     * @param cell Index of cell
+     * @return Title of the abbr element, empty if none
+     * @throws IndexOutOfBoundsException Row doesn't have the cell
+     */
+    public String title(int cell) {
+        if (this.titles[cell] == null)
+            this.titles[cell] = this.cells.get(cell).select("abbr").attr("title");
+        return this.titles[cell];
+    }
+
+    /**
+     * Get the inner HTML of a cell
+     *
+     * @param cell Index of cell
+     * @return HTML of the cell
+     * @throws IndexOutOfBoundsException Row doesn't have the cell
+     */
+    public String html(int cell) {
+        return this.cells.get(cell).html();
+    }
+}
@@ -5,7 +5,8 @@ import com.uh.rainbow.entities.Meeting;
 import com.uh.rainbow.entities.Section;
 import com.uh.rainbow.exception.MeetingNotFoundException;
 import com.uh.rainbow.exception.SectionNotFoundException;
-import org.jsoup.nodes.Element;
+import com.uh.rainbow.util.cache.ContentHash;
+import com.uh.rainbow.util.cache.TermDictionary;
 import org.jsoup.select.Elements;
 
 import java.text.ParseException;
@@ -21,7 +22,8 @@ import java.util.List;
 public class RowCursor {
 
     private final SourceURL source;
-    private final Elements table;
+    private final RowSource table;
+    private final TermDictionary dictionary;
 
     /**
      * Create new Row Cursor for a given table
@@ -30,8 +32,30 @@ public class RowCursor {
      * @param table  List of rows that compose a table
      */
     public RowCursor(SourceURL source, Elements table) {
+        this(source, new ElementRowSource(table));
+    }
+
+    /**
+     * Create new Row Cursor for a given table
+     *
+     * @param source Source URL where the table origates
+     * @param table  Source of the rows that compose a table
+     */
+    public RowCursor(SourceURL source, RowSource table) {
+        this(source, table, new TermDictionary());
+    }
+
+    /**
+     * Create new Row Cursor for a given table that shares repeated strings with other pages of the term
+     *
+     * @param source     Source URL where the table origates
+     * @param table      Source of the rows that compose a table
+     * @param dictionary Dictionary of the strings of the term
+     */
+    public RowCursor(SourceURL source, RowSource table, TermDictionary dictionary) {
         this.source = source;
         this.table = table;
+        this.dictionary = dictionary;
     }
 
     /**
@@ -40,35 +64,43 @@ public class RowCursor {
      * @return True if meeting, false otherwise
      */
     private boolean hasMeeting() {
+        return !this.table.isEmpty() && hasMeeting(this.table.peek(0));    // peek
+    }
 
-        try {
-            Element row = this.table.get(0);     // peek
+    /**
+     * Check if a row contains a meeting
+     *
+     * @param row Row to check
+     * @return True if meeting, false otherwise
+     */
+    private static boolean hasMeeting(Row row) {
 
+        try {
             int initial_offset = 0;
 
             // account for wait list rows
             // https://www.sis.hawaii.edu/uhdad/avail.classes?i=MAN&t=202440&s=THEA
-            if (row.select("td").size() >= 14)
+            if (row.size() >= 14)
                 initial_offset = 2;
             int offset = initial_offset;
 
             // Different amount of columns per row can cause issues, check for offset
-            if (!Day.toDays(row.select("td").get(8 + offset).text()).isEmpty())
+            if (!Day.toDays(row.text(8 + offset)).isEmpty())
                 offset -= 1;
 
-            String days = row.select("td").get(9 + offset).text();
+            String days = row.text(9 + offset);
             if (days.isEmpty())
                 return false;
 
-            String times = row.select("td").get(10 + offset).text();
+            String times = row.text(10 + offset);
             if (times.isEmpty())
                 return false;
 
-            String room = row.select("td").get(11 + offset).select("abbr").attr("title");
+            String room = row.title(11 + offset);
             if (room.isEmpty())
                 return false;
 
-            String dates = row.select("td").get(12 + offset).text();
+            String dates = row.text(12 + offset);
             if (dates.isEmpty())
                 return false;
 
@@ -91,7 +123,7 @@ public class RowCursor {
             if (hasMeeting())
                 return true;
 
-            this.table.remove(0);     // pop
+            this.table.pop();     // pop
         }
 
         // No sections found
@@ -111,26 +143,26 @@ public class RowCursor {
         if (!hasMeeting())
             throw new MeetingNotFoundException();
 
-        Element row = this.table.get(0);     // peek
+        Row row = this.table.peek(0);     // peek
 
         int initial_offset = 0;
 
         // account for wait list rows
         // https://www.sis.hawaii.edu/uhdad/avail.classes?i=MAN&t=202440&s=THEA
-        if (row.select("td").size() >= 14)
+        if (row.size() >= 14)
             initial_offset = 2;
 
         int offset = initial_offset;
 
         // Different amount of columns per row can cause issues, check for offset
-        if (!Day.toDays(row.select("td").get(8 + offset).text()).isEmpty())
+        if (!Day.toDays(row.text(8 + offset)).isEmpty())
             offset -= 1;
 
         return Meeting.createMeetings(
-                row.select("td").get(9 + offset).text(),     // Day
-                row.select("td").get(10 + offset).text(),    // Times
-                row.select("td").get(11 + offset).select("abbr").attr("title"),  // Room
-                row.select("td").get(12 + offset).text()     // Dates
+                row.text(9 + offset),     // Day
+                row.text(10 + offset),    // Times
+                this.dictionary.intern(row.title(11 + offset)),  // Room
+                row.text(12 + offset)     // Dates
         );
     }
 
@@ -140,38 +172,46 @@ public class RowCursor {
      * @return True if section, false otherwise
      */
     private boolean hasSection() {
-        try {
-            Element row = this.table.get(0);     // peek
+        return !this.table.isEmpty() && hasSection(this.table.peek(0));    // peek
+    }
 
-            String cid = row.select("td").get(2).text();
+    /**
+     * Check if a row contains a section
+     *
+     * @param row Row to check
+     * @return True if section, false otherwise
+     */
+    private static boolean hasSection(Row row) {
+        try {
+            String cid = row.text(2);
             if (cid.isEmpty())
                 return false;
 
-            String name = row.select("td").get(4).text();
+            String name = row.text(4);
             if (name.isEmpty())
                 return false;
 
-            String credits = row.select("td").get(5).text();
+            String credits = row.text(5);
             if (credits.isEmpty())
                 return false;
 
-            String crn = row.select("td").get(1).text();
+            String crn = row.text(1);
             if (crn.isEmpty())
                 return false;
 
-            String sid = row.select("td").get(3).text();
+            String sid = row.text(3);
             if (sid.isEmpty())
                 return false;
 
-            String instructor = row.select("td").get(6).select("abbr").attr("title");
+            String instructor = row.title(6);
             if (instructor.isEmpty())
                 return false;
 
-            String numEnrolled = row.select("td").get(7).text();
+            String numEnrolled = row.text(7);
             if (numEnrolled.isEmpty())
                 return false;
 
-            String seatsAvailable = row.select("td").get(8).text();
+            String seatsAvailable = row.text(8);
             if (seatsAvailable.isEmpty())
                 return false;
 
@@ -193,7 +233,7 @@ public class RowCursor {
             if (hasSection())
                 return true;
 
-            this.table.remove(0);     // pop
+            this.table.pop();     // pop
         }
 
         // No sections found
@@ -212,19 +252,19 @@ public class RowCursor {
         if (!hasSection())
             throw new SectionNotFoundException();
 
-        Element row = this.table.get(0);     // peek
+        Row row = this.table.peek(0);     // peek
 
         // todo add wait list support
         Section section = new Section(
                 this.source,
-                Integer.parseInt(row.select("td").get(1).text()),   // Course Ref Number
-                row.select("td").get(2).text(),     // Course ID  ( ICS 101 )
-                row.select("td").get(3).text(),     // Section ID ( 001 )
-                row.select("td").get(4).text(),     // Title
-                row.select("td").get(5).text(),     // Credits
-                row.select("td").get(6).select("abbr").attr("title"),   // Instructor
-                Integer.parseInt(row.select("td").get(7).text()),   // Number Enrolled
-                Integer.parseInt(row.select("td").get(8).text())    // Seats Available
+                Integer.parseInt(row.text(1)),   // Course Ref Number
+                this.dictionary.intern(row.text(2)),     // Course ID  ( ICS 101 )
+                this.dictionary.intern(row.text(3)),     // Section ID ( 001 )
+                this.dictionary.intern(row.text(4)),     // Title
+                this.dictionary.intern(row.text(5)),     // Credits
+                this.dictionary.intern(row.title(6)),   // Instructor
+                Integer.parseInt(row.text(7)),   // Number Enrolled
+                Integer.parseInt(row.text(8))    // Seats Available
         );
 
         // Add additional section info until reach next section
@@ -240,10 +280,10 @@ public class RowCursor {
             }
 
             // Add Requirements / Designation Codes / Misc info if any
-            if (!this.table.get(0).select("td").get(0).text().isEmpty())
-                section.addDetails(this.table.get(0).select("td").get(0).text());
+            if (!this.table.peek(0).text(0).isEmpty())
+                section.addDetails(this.dictionary.intern(this.table.peek(0).text(0)));
 
-            this.table.remove(0);    // pop
+            this.table.pop();    // pop
 
             /*
             Next row has details for THIS section
@@ -251,11 +291,88 @@ public class RowCursor {
              */
             if (!(this.table.isEmpty()
                     || hasSection()    // looking for next section to not overlap meetings
-                    || this.table.get(0).select("td").get(0).text().isEmpty()))
-                section.addDetails(this.table.get(0).select("td").get(0).text());
+                    || this.table.peek(0).text(0).isEmpty()))
+                section.addDetails(this.dictionary.intern(this.table.peek(0).text(0)));
 
         } while (findMeeting() && !hasSection());  // looking for next section to not overlap meetings
 
         return section;
     }
+
+    /**
+     * Find where the section at the top of the table ends. A section owns every row until
+     * the next row that has both a section and a meeting
+     *
+     * @return Number of rows in the section
+     */
+    private int getSectionLength() {
+        int length = 1;
+        while (this.table.peek(length) != null
+                && !(hasSection(this.table.peek(length)) && hasMeeting(this.table.peek(length))))
+            length++;
+        return length;
+    }
+
+    /**
+     * Hash the rows of the section at the top of the table without consuming them.
+     * Enrollment and wait list counts are skipped since they change constantly
+     *
+     * @return Hash of the section rows
+     */
+    public long hashSection() {
+        long hash = ContentHash.EMPTY;
+        int length = getSectionLength();
+        for (int i = 0; i < length; i++) {
+            Row row = this.table.peek(i);
+
+            // Enrollment columns only in the first row, wait list tables have 2 extra columns
+            int skipFrom = i == 0 ? 7 : row.size();
+            int skipTo = row.size() >= 14 ? 10 : 8;
+            for (int c = 0; c < row.size(); c++) {
+                if (c < skipFrom || c > skipTo)
+                    hash = ContentHash.update(hash, row.html(c));
+            }
+            hash = ContentHash.update(hash, "");    // end of row
+        }
+        return hash;
+    }
+
+    /**
+     * Consume the rows of the section at the top of the table, reusing the meetings and details
+     * of a previously parsed copy of the section and only reading the enrollment counts
+     *
+     * @param previous Previously parsed section with the same {@link #hashSection()}
+     * @return Section
+     * @throws SectionNotFoundException First row has no section to parse
+     */
+    public Section reuseSection(Section previous) throws SectionNotFoundException {
+        // assert section to process
+        if (!hasSection())
+            throw new SectionNotFoundException();
+
+        Row row = this.table.peek(0);     // peek
+
+        Section section = new Section(
+                this.source,
+                Integer.parseInt(previous.getCRN()),
+                previous.getCID(),
+                previous.getSectionNumber(),
+                previous.getTitle(),
+                previous.getCredits(),
+                previous.getInstructor(),
+                Integer.parseInt(row.text(7)),   // Number Enrolled
+                Integer.parseInt(row.text(8))    // Seats Available
+        );
+        section.addMeetings(previous.getMeetings());
+        previous.getAdditionalDetails().forEach(section::addDetails);
+        for (int i = 0; i < previous.getFailedMeetings(); i++)
+            section.addFailedMeeting();
+
+        // pop section rows
+        int length = getSectionLength();
+        for (int i = 0; i < length; i++)
+            this.table.pop();
+
+        return section;
+    }
 }
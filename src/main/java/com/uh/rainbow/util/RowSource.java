@@ -0,0 +1,31 @@
+package com.uh.rainbow.util;
+
+/**
+ * <b>File:</b> RowSource.java
+ * <p>
+ * <b>Description:</b> Queue of the table rows of a UH course table read by a {@link RowCursor}
+ *
+ * @author Derek Garcia
+ */
+public interface RowSource {
+
+    /**
+     * Look at a row without consuming it
+     *
+     * @param offset Number of rows past the top row
+     * @return Row, null if the table has fewer rows
+     */
+    Row peek(int offset);
+
+    /**
+     * Consume the top row
+     */
+    void pop();
+
+    /**
+     * @return True if there are no rows left, false otherwise
+     */
+    default boolean isEmpty() {
+        return peek(0) == null;
+    }
+}
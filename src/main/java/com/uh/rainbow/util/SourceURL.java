@@ -1,12 +1,28 @@
 package com.uh.rainbow.util;
 
+import com.uh.rainbow.exception.NotModifiedException;
+import com.uh.rainbow.exception.UpstreamUnavailableException;
+import com.uh.rainbow.util.http.CircuitBreaker;
+import com.uh.rainbow.util.http.ConcurrencyLimitedFetcher;
+import com.uh.rainbow.util.http.FetchResponse;
+import com.uh.rainbow.util.http.HttpClientFetcher;
+import com.uh.rainbow.util.http.PageFetcher;
+import com.uh.rainbow.util.http.TokenBucket;
 import org.apache.commons.lang3.StringUtils;
-import org.jsoup.Jsoup;
+import org.jsoup.HttpStatusException;
 import org.jsoup.nodes.Document;
 
 import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * <b>File:</b> SourceURL.java
@@ -16,12 +32,61 @@ import java.util.List;
  * @author Derek Garcia
  */
 public class SourceURL {
-    private final static String UH_CLASSES_ROOT = "https://www.sis.hawaii.edu/uhdad/avail.classes";
-    private final static String UH_CLASS_ROOT = "https://www.sis.hawaii.edu/uhdad/avail.class";
+    public final static String DEFAULT_HOST = "https://www.sis.hawaii.edu";
+    private final static String UH_CLASSES_PATH = "/uhdad/avail.classes";
+    private final static String UH_CLASS_PATH = "/uhdad/avail.class";
+    private final static int NOT_MODIFIED = 304;
+    private final static int TOO_MANY_REQUESTS = 429;
+    private final static Set<Integer> RETRY_STATUS_CODES = Set.of(TOO_MANY_REQUESTS, 502, 503, 504);
+    private static volatile String host = DEFAULT_HOST;
+    private static volatile PageFetcher fetcher = new ConcurrencyLimitedFetcher(
+            new HttpClientFetcher(Duration.ofSeconds(5), Duration.ofSeconds(15)), 16
+    );
+    private static volatile int maxRetries = 2;
+    private static volatile Duration retryBackoff = Duration.ofMillis(250);
+    private static volatile TokenBucket rateLimiter = new TokenBucket(10, 20);
+    private static volatile CircuitBreaker circuitBreaker = new CircuitBreaker(5, Duration.ofSeconds(30));
+    private final static int MAX_VALIDATORS = 4096;     // about the subject pages of every crawled term
+    private final static int MAX_DOCUMENTS = 64;        // institution, term and subject lists, documents are large
+    private final static Map<String, Validators> VALIDATORS = createLRUMap(MAX_VALIDATORS);     // validators of last fetch per url
+    private final static Map<String, Document> DOCUMENTS = createLRUMap(MAX_DOCUMENTS);         // last queried document per url
+    private final static AtomicLong NUM_NOT_MODIFIED = new AtomicLong();
     private String instID;
     private String termID;
     private String subjectID;
 
+    /**
+     * Cache validators returned by the server
+     *
+     * @param etag         ETag header, null if not sent
+     * @param lastModified Last-Modified header, null if not sent
+     */
+    private record Validators(String etag, String lastModified) {
+        /**
+         * Get the validators of a response
+         *
+         * @param response Response to get validators from
+         * @return Validators, null if server sent none
+         */
+        public static Validators of(FetchResponse response) {
+            String etag = response.header("ETag");
+            String lastModified = response.header("Last-Modified");
+            return etag == null && lastModified == null ? null : new Validators(etag, lastModified);
+        }
+
+        /**
+         * @return Headers that make a request conditional on the resource having changed
+         */
+        public Map<String, String> toHeaders() {
+            Map<String, String> headers = new HashMap<>();
+            if (this.etag != null)
+                headers.put("If-None-Match", this.etag);
+            if (this.lastModified != null)
+                headers.put("If-Modified-Since", this.lastModified);
+            return headers;
+        }
+    }
+
     /**
      * Build url with no params
      */
@@ -62,13 +127,284 @@ public class SourceURL {
     }
 
     /**
-     * Query endpoint of this url
+     * Query endpoint of this url. If the endpoint was queried before, the request is conditional
+     * and the previous document is reused if the server reports it hasn't changed
      *
      * @return HTML of endpoint
      * @throws IOException Failed to connect to url
      */
     public Document query() throws IOException {
-        return Jsoup.connect(this.toString()).get();
+        String url = this.toString();
+        Document previous = DOCUMENTS.get(url);
+        Validators validators = VALIDATORS.get(url);
+
+        // Only conditional if there is a document to fall back on
+        FetchResponse response = execute(url, previous != null && validators != null ? validators.toHeaders() : Map.of());
+
+        // Reuse previous document, copy so callers can't modify it
+        if (response.statusCode() == NOT_MODIFIED && previous != null) {
+            NUM_NOT_MODIFIED.incrementAndGet();
+            return previous.clone();
+        }
+
+        Document doc = response.parse();
+        if (saveValidators(url, response))
+            DOCUMENTS.put(url, doc.clone());
+        return doc;
+    }
+
+    /**
+     * Fetch endpoint of this url without parsing it. Validators are not saved until the caller
+     * has processed the body and calls {@link #saveValidators(FetchResponse)}
+     *
+     * @return Response with the raw body, parse with {@link FetchResponse#parse()}
+     * @throws IOException Failed to connect to url
+     */
+    public FetchResponse fetch() throws IOException {
+        return execute(this.toString(), Map.of());
+    }
+
+    /**
+     * Fetch endpoint of this url without parsing it, only if it changed since the last saved
+     * validators. Validators are not saved until the caller has processed the body and calls
+     * {@link #saveValidators(FetchResponse)}
+     *
+     * @return Response with the raw body, parse with {@link FetchResponse#parse()}
+     * @throws IOException          Failed to connect to url
+     * @throws NotModifiedException Endpoint hasn't changed since the last fetch
+     */
+    public FetchResponse fetchIfModified() throws IOException, NotModifiedException {
+        String url = this.toString();
+        Validators validators = VALIDATORS.get(url);
+
+        // Nothing to validate against
+        if (validators == null)
+            return fetch();
+
+        FetchResponse response = execute(url, validators.toHeaders());
+        if (response.statusCode() == NOT_MODIFIED) {
+            NUM_NOT_MODIFIED.incrementAndGet();
+            throw new NotModifiedException(url);
+        }
+        return response;
+    }
+
+    /**
+     * Save the validators of a fetched response so the next fetch is conditional. Only call once
+     * the body has been processed, otherwise a failure would leave the old content marked as current
+     *
+     * @param response Response returned by {@link #fetch()} or {@link #fetchIfModified()}
+     */
+    public void saveValidators(FetchResponse response) {
+        saveValidators(this.toString(), response);
+    }
+
+    /**
+     * Send a request with the current fetcher, retrying timeouts and overloaded responses with
+     * exponential backoff. Every attempt is rate limited and reported to the circuit breaker, and
+     * attempts are rejected without being sent while the breaker is open
+     *
+     * @param url     URL to fetch
+     * @param headers Additional request headers
+     * @return Successful or not modified response
+     * @throws UpstreamUnavailableException Circuit breaker is open
+     * @throws HttpStatusException          Server responded with an error
+     * @throws IOException                  Failed to connect to url
+     */
+    private static FetchResponse execute(String url, Map<String, String> headers) throws IOException {
+        IOException failure = null;
+        for (int attempt = 0; ; attempt++) {
+            FetchResponse response;
+            try {
+                response = attempt(url, headers);
+            } catch (UpstreamUnavailableException e) {
+                // Breaker opened while retrying, report what made it open
+                throw failure == null ? e : failure;
+            } catch (IOException e) {
+                // Retry if failed to connect or timed out
+                if (attempt >= maxRetries || Thread.currentThread().isInterrupted())
+                    throw e;
+                failure = e;
+                backoff(attempt);
+                continue;
+            }
+
+            // Retry if server is overloaded
+            if (attempt < maxRetries && RETRY_STATUS_CODES.contains(response.statusCode())) {
+                failure = new HttpStatusException("HTTP error fetching URL", response.statusCode(), url);
+                backoff(attempt);
+                continue;
+            }
+
+            if (response.statusCode() != NOT_MODIFIED && (response.statusCode() < 200 || response.statusCode() >= 400))
+                throw new HttpStatusException("HTTP error fetching URL", response.statusCode(), url);
+            return response;
+        }
+    }
+
+    /**
+     * Send a single request with the current fetcher once permitted by the circuit breaker
+     * and rate limiter, reporting the outcome to the breaker
+     *
+     * @param url     URL to fetch
+     * @param headers Additional request headers
+     * @return Response of any status
+     * @throws UpstreamUnavailableException Circuit breaker is open
+     * @throws IOException                  Failed to connect to url
+     */
+    private static FetchResponse attempt(String url, Map<String, String> headers) throws IOException {
+        CircuitBreaker breaker = circuitBreaker;
+        breaker.acquire(url);
+
+        // Report to breaker even if failed to connect
+        boolean healthy = false;
+        try {
+            rateLimiter.acquire();
+            FetchResponse response = fetcher.fetch(url, headers);
+            healthy = response.statusCode() != TOO_MANY_REQUESTS && response.statusCode() < 500;
+            return response;
+        } finally {
+            breaker.record(healthy);
+        }
+    }
+
+    /**
+     * Wait before retrying
+     *
+     * @param attempt Number of the failed attempt, starting at 0
+     * @throws InterruptedIOException Interrupted while waiting
+     */
+    private static void backoff(int attempt) throws InterruptedIOException {
+        try {
+            Thread.sleep(retryBackoff.multipliedBy(1L << attempt));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting to retry");
+        }
+    }
+
+    /**
+     * Set the host to send requests to, used to point at a stub server
+     *
+     * @param host Scheme and host ie https://www.sis.hawaii.edu
+     */
+    public static void setHost(String host) {
+        SourceURL.host = StringUtils.removeEnd(host, "/");
+    }
+
+    /**
+     * Set the fetcher to send requests with
+     *
+     * @param fetcher Page fetcher
+     */
+    public static void setFetcher(PageFetcher fetcher) {
+        SourceURL.fetcher = fetcher;
+    }
+
+    /**
+     * Set how failed requests are retried
+     *
+     * @param maxRetries   Number of times to retry a failed request
+     * @param retryBackoff Time to wait before the first retry, doubled every retry
+     */
+    public static void setRetryPolicy(int maxRetries, Duration retryBackoff) {
+        SourceURL.maxRetries = maxRetries;
+        SourceURL.retryBackoff = retryBackoff;
+    }
+
+    /**
+     * Set the rate limiter shared by every request
+     *
+     * @param rateLimiter Token bucket
+     */
+    public static void setRateLimiter(TokenBucket rateLimiter) {
+        SourceURL.rateLimiter = rateLimiter;
+    }
+
+    /**
+     * Set the circuit breaker shared by every request
+     *
+     * @param circuitBreaker Circuit breaker
+     */
+    public static void setCircuitBreaker(CircuitBreaker circuitBreaker) {
+        SourceURL.circuitBreaker = circuitBreaker;
+    }
+
+    /**
+     * @return Rate limiter shared by every request
+     */
+    public static TokenBucket getRateLimiter() {
+        return rateLimiter;
+    }
+
+    /**
+     * @return Circuit breaker shared by every request
+     */
+    public static CircuitBreaker getCircuitBreaker() {
+        return circuitBreaker;
+    }
+
+    /**
+     * Create a thread safe map that drops its least recently used entry once full. Dropping
+     * validators or a document only makes the next request for that url unconditional
+     *
+     * @param maxSize Max number of entries
+     * @param <V>     Type of value
+     * @return Bounded map
+     */
+    private static <V> Map<String, V> createLRUMap(int maxSize) {
+        return Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {     // access order for LRU
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, V> eldest) {
+                return size() > maxSize;
+            }
+        });
+    }
+
+    /**
+     * @return Number of conditional requests answered with 304 Not Modified
+     */
+    public static long getNumNotModified() {
+        return NUM_NOT_MODIFIED.get();
+    }
+
+    /**
+     * Save the validators of a response for the next request
+     *
+     * @param url      URL of the response
+     * @param response Response to get validators from
+     * @return True if the server sent validators, false otherwise
+     */
+    private static boolean saveValidators(String url, FetchResponse response) {
+        Validators validators = Validators.of(response);
+        if (validators == null) {
+            VALIDATORS.remove(url);
+            DOCUMENTS.remove(url);
+            return false;
+        }
+        VALIDATORS.put(url, validators);
+        return true;
+    }
+
+    /**
+     * @return Institution ID, null if not set
+     */
+    public String getInstID() {
+        return this.instID;
+    }
+
+    /**
+     * @return Term ID, null if not set
+     */
+    public String getTermID() {
+        return this.termID;
+    }
+
+    /**
+     * @return Subject ID, null if not set
+     */
+    public String getSubjectID() {
+        return this.subjectID;
     }
 
     /**
@@ -78,7 +414,7 @@ public class SourceURL {
      * @return section url
      */
     public String getSectionURL(int crn) {
-        return "%s?i=%s&t=%s&c=%s".formatted(UH_CLASS_ROOT, this.instID, this.termID, crn);
+        return "%s%s?i=%s&t=%s&c=%s".formatted(host, UH_CLASS_PATH, this.instID, this.termID, crn);
     }
 
     @Override
@@ -95,12 +431,22 @@ public class SourceURL {
             params.add("s=%s".formatted(this.subjectID));
 
         // If any params, add them
-        StringBuilder sb = new StringBuilder().append(UH_CLASSES_ROOT);
+        StringBuilder sb = new StringBuilder().append(host).append(UH_CLASSES_PATH);
         if (!params.isEmpty())
             sb.append("?").append(StringUtils.join(params, "&"));
 
         return sb.toString();
     }
 
+    @Override
+    public boolean equals(Object o) {
+        // Sources are equal if they point to the same url
+        return o instanceof SourceURL other && this.toString().equals(other.toString());
+    }
+
+    @Override
+    public int hashCode() {
+        return this.toString().hashCode();
+    }
 
 }
@@ -0,0 +1,323 @@
+package com.uh.rainbow.util;
+
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Element;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * <b>File:</b> StreamingRowSource.java
+ * <p>
+ * <b>Description:</b> Row source that reads the rows of the first table body of a page as they are
+ * needed instead of parsing the whole page. A lightweight tag scanner finds where each row starts
+ * and ends and only that row is parsed, so at most the rows being looked ahead at are held in memory.
+ * Rows are cut the same way a full parse would, so a {@link RowCursor} over this source gives the
+ * same sections as one over the parsed document
+ *
+ * @author Derek Garcia
+ */
+public class StreamingRowSource implements RowSource {
+
+    /**
+     * Part of the first table a tag is in
+     */
+    private enum Part {
+        NONE,   // table itself, no group open
+        BODY,   // first table body, explicit or implied
+        OTHER   // table head or foot
+    }
+
+    private static final int BUFFER_SIZE = 8192;
+    private final Reader in;
+    private final String baseUri;
+    private final char[] buffer = new char[BUFFER_SIZE];
+    private int bufferPos = 0;
+    private int bufferLen = 0;
+    private final List<Row> lookahead = new ArrayList<>();
+    private final StringBuilder row = new StringBuilder();
+    private boolean rowOpen = false;
+    private int tableDepth = 0;
+    private Part part = Part.NONE;
+    private boolean bodySeen = false;
+    private boolean done = false;
+
+    /**
+     * Create new row source
+     *
+     * @param in      Reader of the page HTML
+     * @param baseUri URL of the page
+     */
+    public StreamingRowSource(Reader in, String baseUri) {
+        this.in = in;
+        this.baseUri = baseUri;
+    }
+
+    @Override
+    public Row peek(int offset) {
+        try {
+            // Read until have enough rows
+            while (this.lookahead.size() <= offset && !this.done)
+                readRow();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return offset < this.lookahead.size() ? this.lookahead.get(offset) : null;
+    }
+
+    @Override
+    public void pop() {
+        if (peek(0) != null)
+            this.lookahead.remove(0);
+    }
+
+    /**
+     * Scan tags until a row is finished or the first table body ends
+     *
+     * @throws IOException Failed to read page
+     */
+    private void readRow() throws IOException {
+        int numRows = this.lookahead.size();
+        while (this.lookahead.size() == numRows && !this.done) {
+            int c = read();
+            if (c == -1) {
+                finishRow();
+                this.done = true;
+            } else if (c == '<') {
+                readMarkup();
+            } else if (this.rowOpen) {
+                this.row.append((char) c);
+            }
+        }
+    }
+
+    /**
+     * Read markup after a '&lt;' and update the table state
+     *
+     * @throws IOException Failed to read page
+     */
+    private void readMarkup() throws IOException {
+        int c = read();
+
+        // Comments and doctype
+        if (c == '!') {
+            String start = readUntil(">", "<!");
+            if (start.startsWith("<!--") && !start.endsWith("-->"))
+                readUntil("-->", "");
+            return;
+        }
+
+        // Not a tag, just text
+        if (c != '/' && !Character.isLetter(c)) {
+            if (this.rowOpen) {
+                this.row.append('<');
+                if (c != -1)
+                    this.row.append((char) c);
+            }
+            return;
+        }
+
+        String tag = readTag((char) c);
+        boolean isEnd = c == '/';
+        String name = getTagName(tag, isEnd);
+
+        // Skip contents of raw text elements
+        if (!isEnd && (name.equals("script") || name.equals("style"))) {
+            readUntil("</" + name, "");
+            readUntil(">", "");
+            return;
+        }
+
+        // Nested tables belong to the row they are in
+        if (name.equals("table")) {
+            if (!isEnd) {
+                this.tableDepth++;
+                if (this.tableDepth > 1)
+                    appendToRow(tag);
+            } else if (this.tableDepth > 1) {
+                appendToRow(tag);
+                this.tableDepth--;
+            } else if (this.tableDepth == 1) {
+                endBody();
+            }
+            return;
+        }
+        if (this.tableDepth == 0)
+            return;
+        if (this.tableDepth > 1) {
+            appendToRow(tag);
+            return;
+        }
+
+        switch (name) {
+            case "tbody" -> {
+                if (isEnd) {
+                    if (this.part == Part.BODY)
+                        endBody();
+                } else if (this.bodySeen) {
+                    endBody();      // only the first body is read
+                } else {
+                    finishRow();
+                    this.part = Part.BODY;
+                    this.bodySeen = true;
+                }
+            }
+            case "thead", "tfoot" -> {
+                if (this.part == Part.BODY) {
+                    endBody();
+                } else {
+                    finishRow();
+                    this.part = isEnd ? Part.NONE : Part.OTHER;
+                }
+            }
+            case "tr" -> {
+                if (isEnd) {
+                    appendToRow(tag);
+                    finishRow();
+                } else {
+                    // Rows outside a group open an implied body
+                    if (this.part == Part.NONE) {
+                        if (this.bodySeen) {
+                            endBody();
+                            return;
+                        }
+                        this.part = Part.BODY;
+                        this.bodySeen = true;
+                    }
+                    finishRow();
+                    this.rowOpen = true;
+                    this.row.append(tag);
+                }
+            }
+            default -> appendToRow(tag);
+        }
+    }
+
+    /**
+     * Add markup to the open row, if any
+     *
+     * @param markup Markup to add
+     */
+    private void appendToRow(String markup) {
+        if (this.rowOpen)
+            this.row.append(markup);
+    }
+
+    /**
+     * Parse the open row, if any, and add it to the lookahead. Rows in the table head or foot are dropped
+     */
+    private void finishRow() {
+        if (!this.rowOpen)
+            return;
+
+        if (this.part == Part.BODY) {
+            Element tr = Jsoup.parseBodyFragment("<table>" + this.row + "</table>", this.baseUri).selectFirst("tr");
+            if (tr != null)
+                this.lookahead.add(new Row(tr));
+        }
+        this.rowOpen = false;
+        this.row.setLength(0);
+    }
+
+    /**
+     * Finish the first table body, no more rows will be read
+     */
+    private void endBody() {
+        finishRow();
+        this.done = true;
+    }
+
+    /**
+     * Read the rest of a tag, skipping any '&gt;' in quoted attribute values
+     *
+     * @param first First character after the '&lt;'
+     * @return Full tag
+     * @throws IOException Failed to read page
+     */
+    private String readTag(char first) throws IOException {
+        StringBuilder tag = new StringBuilder().append('<').append(first);
+        char quote = 0;
+        int c;
+        while ((c = read()) != -1) {
+            tag.append((char) c);
+            if (quote != 0) {
+                if (c == quote)
+                    quote = 0;
+            } else if (c == '"' || c == '\'') {
+                quote = (char) c;
+            } else if (c == '>') {
+                break;
+            }
+        }
+        return tag.toString();
+    }
+
+    /**
+     * Read until after a terminator
+     *
+     * @param terminator Case-insensitive text to stop after
+     * @param prefix     Text already read
+     * @return Prefix and everything read
+     * @throws IOException Failed to read page
+     */
+    private String readUntil(String terminator, String prefix) throws IOException {
+        StringBuilder text = new StringBuilder(prefix);
+        int c;
+        while ((c = read()) != -1) {
+            text.append((char) c);
+            if (endsWithIgnoreCase(text, terminator))
+                break;
+        }
+        return text.toString();
+    }
+
+    /**
+     * Test the end of the text in place, without copying it
+     *
+     * @param text   Text to check
+     * @param suffix Case-insensitive suffix
+     * @return True if the text ends with the suffix, false otherwise
+     */
+    private static boolean endsWithIgnoreCase(StringBuilder text, String suffix) {
+        int offset = text.length() - suffix.length();
+        if (offset < 0)
+            return false;
+        for (int i = 0; i < suffix.length(); i++) {
+            if (Character.toLowerCase(text.charAt(offset + i)) != Character.toLowerCase(suffix.charAt(i)))
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * @param tag   Full tag
+     * @param isEnd True if an end tag, false otherwise
+     * @return Lowercase name of tag
+     */
+    private static String getTagName(String tag, boolean isEnd) {
+        int start = isEnd ? 2 : 1;
+        int end = start;
+        while (end < tag.length() && Character.isLetterOrDigit(tag.charAt(end)))
+            end++;
+        return tag.substring(start, end).toLowerCase();
+    }
+
+    /**
+     * @return Next character, -1 if end of page
+     * @throws IOException Failed to read page
+     */
+    private int read() throws IOException {
+        if (this.bufferPos == this.bufferLen) {
+            this.bufferLen = this.in.read(this.buffer);
+            this.bufferPos = 0;
+            if (this.bufferLen <= 0) {
+                this.bufferLen = 0;
+                return -1;
+            }
+        }
+        return this.buffer[this.bufferPos++];
+    }
+}
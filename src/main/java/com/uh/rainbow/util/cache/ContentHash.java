@@ -0,0 +1,48 @@
+package com.uh.rainbow.util.cache;
+
+/**
+ * <b>File:</b> ContentHash.java
+ * <p>
+ * <b>Description:</b> 64-bit FNV-1a hash used to detect changes in fetched content
+ *
+ * @author Derek Garcia
+ */
+public final class ContentHash {
+    public static final long EMPTY = 0xcbf29ce484222325L;
+    private static final long PRIME = 0x100000001b3L;
+
+    private ContentHash() {
+    }
+
+    /**
+     * Hash raw bytes
+     *
+     * @param bytes Bytes to hash
+     * @return Hash
+     */
+    public static long of(byte[] bytes) {
+        long hash = EMPTY;
+        for (byte b : bytes) {
+            hash ^= b & 0xff;
+            hash *= PRIME;
+        }
+        return hash;
+    }
+
+    /**
+     * Add a string to a running hash
+     *
+     * @param hash   Running hash, start with {@link #EMPTY}
+     * @param string String to add
+     * @return Updated hash
+     */
+    public static long update(long hash, String string) {
+        for (int i = 0; i < string.length(); i++) {
+            hash ^= string.charAt(i);
+            hash *= PRIME;
+        }
+        // Separate strings so "ab" + "c" doesn't match "a" + "bc"
+        hash ^= 0xff;
+        return hash * PRIME;
+    }
+}
@@ -0,0 +1,308 @@
+package com.uh.rainbow.util.cache;
+
+import com.uh.rainbow.entities.Section;
+import com.uh.rainbow.util.SourceURL;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <b>File:</b> SectionCache.java
+ * <p>
+ * <b>Description:</b> In memory cache of unfiltered sections parsed from a subject page, stored
+ * as {@link SectionTable}s. Entries expire after a TTL but can still be served as stale for a while longer so callers
+ * can refresh them in the background. The least recently used entries are evicted once the
+ * total number of cached sections goes over the max weight
+ *
+ * @author Derek Garcia
+ */
+public class SectionCache {
+
+    /**
+     * Snapshot of cache metrics
+     *
+     * @param hits      Number of lookups served from the cache
+     * @param staleHits Number of lookups served from the cache after expiring
+     * @param misses    Number of lookups that weren't cached or had expired
+     * @param evictions Number of entries evicted to stay under the max weight
+     * @param entries   Number of cached subject pages
+     * @param weight    Number of cached sections
+     */
+    public record Stats(long hits, long staleHits, long misses, long evictions, int entries, long weight) {
+    }
+
+    /**
+     * Cached sections of a subject page and how old they are
+     *
+     * @param table Unfiltered sections
+     * @param age   Time since the sections were parsed
+     * @param stale True if older than the ttl and should be refreshed, false otherwise
+     */
+    public record Lookup(SectionTable table, Duration age, boolean stale) {
+    }
+
+    /**
+     * Hashes of a parsed subject page used to detect what changed when it is fetched again
+     *
+     * @param pageHash      Hash of the raw page
+     * @param table         Parsed sections
+     * @param sectionHashes Hash of the rows of each section in the table
+     */
+    public record Fingerprint(long pageHash, SectionTable table, long[] sectionHashes) {
+        /**
+         * @return Row of each section in the table keyed by the hash of its rows
+         */
+        public Map<Long, Integer> getRowsByHash() {
+            Map<Long, Integer> rows = new HashMap<>();
+            for (int row = 0; row < this.sectionHashes.length; row++)
+                rows.put(this.sectionHashes[row], row);
+            return rows;
+        }
+    }
+
+    /**
+     * Cached sections of a single subject page
+     *
+     * @param table       Unfiltered sections
+     * @param fetchedAt   Time the sections were parsed
+     * @param fingerprint Hashes of the page, null if unknown
+     */
+    private record Entry(SectionTable table, Instant fetchedAt, Fingerprint fingerprint) {
+        /**
+         * @return Weight of this entry, empty pages still take up a slot
+         */
+        public int weight() {
+            return Math.max(1, this.table.size());
+        }
+    }
+
+    private final Duration ttl;
+    private final Duration maxStale;
+    private final long maxWeight;
+    private final Clock clock;
+    private final LinkedHashMap<SourceURL, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);     // access order for LRU
+    private long weight = 0;
+    private long hits = 0;
+    private long staleHits = 0;
+    private long misses = 0;
+    private long evictions = 0;
+
+    /**
+     * Create a new section cache
+     *
+     * @param ttl       How long sections are valid for after being parsed
+     * @param maxWeight Max number of sections to hold
+     */
+    public SectionCache(Duration ttl, long maxWeight) {
+        this(ttl, maxWeight, Clock.systemUTC());
+    }
+
+    /**
+     * Create a new section cache
+     *
+     * @param ttl       How long sections are valid for after being parsed
+     * @param maxWeight Max number of sections to hold
+     * @param clock     Clock to use to check expiration
+     */
+    public SectionCache(Duration ttl, long maxWeight, Clock clock) {
+        this(ttl, Duration.ZERO, maxWeight, clock);
+    }
+
+    /**
+     * Create a new section cache that serves expired sections
+     *
+     * @param ttl       How long sections are valid for after being parsed
+     * @param maxStale  How long sections can be served after expiring
+     * @param maxWeight Max number of sections to hold
+     */
+    public SectionCache(Duration ttl, Duration maxStale, long maxWeight) {
+        this(ttl, maxStale, maxWeight, Clock.systemUTC());
+    }
+
+    /**
+     * Create a new section cache that serves expired sections
+     *
+     * @param ttl       How long sections are valid for after being parsed
+     * @param maxStale  How long sections can be served after expiring
+     * @param maxWeight Max number of sections to hold
+     * @param clock     Clock to use to check expiration
+     */
+    public SectionCache(Duration ttl, Duration maxStale, long maxWeight, Clock clock) {
+        this.ttl = ttl;
+        this.maxStale = maxStale;
+        this.maxWeight = maxWeight;
+        this.clock = clock;
+    }
+
+    /**
+     * Get the unfiltered sections for a subject page
+     *
+     * @param source Source URL of the subject page
+     * @return Sections, null if not cached or expired
+     */
+    public synchronized SectionTable get(SourceURL source) {
+        Entry entry = getEntry(source);
+
+        // Report and return
+        if (entry == null || isExpired(entry)) {
+            this.misses++;
+            return null;
+        }
+        this.hits++;
+        return entry.table();
+    }
+
+    /**
+     * Get the unfiltered sections for a subject page, including expired sections that
+     * can still be served as stale
+     *
+     * @param source Source URL of the subject page
+     * @return Sections and their age, null if not cached or too old to serve
+     */
+    public synchronized Lookup lookup(SourceURL source) {
+        Entry entry = getEntry(source);
+
+        // Report and return
+        if (entry == null) {
+            this.misses++;
+            return null;
+        }
+        boolean stale = isExpired(entry);
+        this.hits++;
+        if (stale)
+            this.staleHits++;
+        return new Lookup(entry.table(), Duration.between(entry.fetchedAt(), this.clock.instant()), stale);
+    }
+
+    /**
+     * Get the unfiltered sections for a subject page without updating metrics
+     *
+     * @param source Source URL of the subject page
+     * @return Sections, null if not cached or expired
+     */
+    public synchronized SectionTable peek(SourceURL source) {
+        Entry entry = this.entries.get(source);
+        return entry == null || isExpired(entry) ? null : entry.table();
+    }
+
+    /**
+     * Get the fingerprint of a cached subject page without updating metrics. Expired pages
+     * that haven't been dropped are included since unchanged content can still be reused
+     *
+     * @param source Source URL of the subject page
+     * @return Fingerprint, null if not cached or unknown
+     */
+    public synchronized Fingerprint getFingerprint(SourceURL source) {
+        Entry entry = this.entries.get(source);
+        return entry == null ? null : entry.fingerprint();
+    }
+
+    /**
+     * Cache the unfiltered sections for a subject page
+     *
+     * @param source   Source URL of the subject page
+     * @param sections Unfiltered sections parsed from the page
+     */
+    public void put(SourceURL source, List<Section> sections) {
+        put(source, new SectionTable(source, sections), null);
+    }
+
+    /**
+     * Cache the unfiltered sections for a subject page
+     *
+     * @param source      Source URL of the subject page
+     * @param table       Unfiltered sections parsed from the page
+     * @param fingerprint Hashes of the page, null if unknown
+     */
+    public synchronized void put(SourceURL source, SectionTable table, Fingerprint fingerprint) {
+        put(new Entry(table, this.clock.instant(), fingerprint), source);
+    }
+
+    /**
+     * Cache sections restored from a snapshot, keeping the time they were originally parsed so
+     * old snapshots are served as stale with their true age. Sections cached after the snapshot
+     * was saved are not overwritten
+     *
+     * @param source   Source URL of the subject page
+     * @param sections Unfiltered sections restored from the snapshot
+     * @param savedAt  Time the snapshot was saved
+     * @return True if the sections were cached, false otherwise
+     */
+    public synchronized boolean restore(SourceURL source, List<Section> sections, Instant savedAt) {
+        Entry current = this.entries.get(source);
+        if (current != null && !current.fetchedAt().isBefore(savedAt))
+            return false;
+        put(new Entry(new SectionTable(source, sections), savedAt, null), source);
+        return true;
+    }
+
+    /**
+     * Cache an entry and evict until under the max weight
+     *
+     * @param entry  Entry to cache
+     * @param source Source URL of the subject page
+     */
+    private void put(Entry entry, SourceURL source) {
+        remove(source);
+        this.entries.put(source, entry);
+        this.weight += entry.weight();
+
+        // Evict least recently used entries until under max weight, keeping the newest entry
+        Iterator<Map.Entry<SourceURL, Entry>> it = this.entries.entrySet().iterator();
+        while (this.weight > this.maxWeight && this.entries.size() > 1) {
+            Entry eldest = it.next().getValue();
+            it.remove();
+            this.weight -= eldest.weight();
+            this.evictions++;
+        }
+    }
+
+    /**
+     * @return Snapshot of the current cache metrics
+     */
+    public synchronized Stats getStats() {
+        return new Stats(this.hits, this.staleHits, this.misses, this.evictions, this.entries.size(), this.weight);
+    }
+
+    /**
+     * Get an entry, dropping it if too old to serve even as stale
+     *
+     * @param source Source URL of the subject page
+     * @return Entry, null if not cached
+     */
+    private Entry getEntry(SourceURL source) {
+        Entry entry = this.entries.get(source);
+        if (entry != null && this.clock.instant().isAfter(entry.fetchedAt().plus(this.ttl).plus(this.maxStale))) {
+            remove(source);
+            return null;
+        }
+        return entry;
+    }
+
+    /**
+     * Test if an entry has expired
+     *
+     * @param entry Entry to check
+     * @return True if older than the ttl, false otherwise
+     */
+    private boolean isExpired(Entry entry) {
+        return this.clock.instant().isAfter(entry.fetchedAt().plus(this.ttl));
+    }
+
+    /**
+     * Remove an entry
+     *
+     * @param source Source URL of the subject page
+     */
+    private void remove(SourceURL source) {
+        Entry entry = this.entries.remove(source);
+        if (entry != null)
+            this.weight -= entry.weight();
+    }
+}
@@ -0,0 +1,297 @@
+package com.uh.rainbow.util.cache;
+
+import com.uh.rainbow.entities.Day;
+import com.uh.rainbow.entities.Meeting;
+import com.uh.rainbow.entities.Section;
+import com.uh.rainbow.entities.time.simple.SimpleDate;
+import com.uh.rainbow.entities.time.simple.SimpleTime;
+import com.uh.rainbow.util.SourceURL;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <b>File:</b> SectionTable.java
+ * <p>
+ * <b>Description:</b> Column store of the unfiltered sections of a subject page. Each field is
+ * kept in a primitive array indexed by row, strings are stored once in a dictionary and
+ * referenced by code, and meetings are stored in their own columns indexed by offsets into
+ * them. Sections are only created when asked for
+ *
+ * @author Derek Garcia
+ */
+public class SectionTable {
+
+    private final SourceURL source;
+    private final TermDictionary dictionary;    // keeps the strings shared with the rest of the term alive while cached
+    private final String[] strings;
+
+    // Section columns
+    private final int[] crns;
+    private final int[] cids;
+    private final int[] sectionNumbers;
+    private final int[] titles;
+    private final int[] credits;
+    private final int[] instructors;
+    private final int[] currEnrolled;
+    private final int[] seatsAvailable;
+    private final int[] failedMeetings;
+    private final int[] meetingOffsets;     // meetings of row i are [offsets[i], offsets[i + 1])
+    private final int[] detailOffsets;      // details of row i are [offsets[i], offsets[i + 1])
+    private final int[] details;
+
+    // Meeting columns
+    private final byte[] days;
+    private final short[] startTimes;
+    private final short[] endTimes;
+    private final short[] startDates;
+    private final short[] endDates;
+    private final int[] rooms;
+
+    /**
+     * Create a new section table
+     *
+     * @param source   Source URL of the subject page
+     * @param sections Unfiltered sections parsed from the page, in page order
+     */
+    public SectionTable(SourceURL source, List<Section> sections) {
+        this(source, sections, null);
+    }
+
+    /**
+     * Create a new section table
+     *
+     * @param source     Source URL of the subject page
+     * @param sections   Unfiltered sections parsed from the page, in page order
+     * @param dictionary Dictionary the strings of the sections were interned with, null if none
+     */
+    public SectionTable(SourceURL source, List<Section> sections, TermDictionary dictionary) {
+        this.source = source;
+        this.dictionary = dictionary;
+        Map<String, Integer> codes = new HashMap<>();
+        List<String> strings = new ArrayList<>();
+
+        int numSections = sections.size();
+        int numMeetings = sections.stream().mapToInt((s) -> s.getMeetings().size()).sum();
+        int numDetails = sections.stream().mapToInt((s) -> s.getAdditionalDetails().size()).sum();
+        this.crns = new int[numSections];
+        this.cids = new int[numSections];
+        this.sectionNumbers = new int[numSections];
+        this.titles = new int[numSections];
+        this.credits = new int[numSections];
+        this.instructors = new int[numSections];
+        this.currEnrolled = new int[numSections];
+        this.seatsAvailable = new int[numSections];
+        this.failedMeetings = new int[numSections];
+        this.meetingOffsets = new int[numSections + 1];
+        this.detailOffsets = new int[numSections + 1];
+        this.details = new int[numDetails];
+        this.days = new byte[numMeetings];
+        this.startTimes = new short[numMeetings];
+        this.endTimes = new short[numMeetings];
+        this.startDates = new short[numMeetings];
+        this.endDates = new short[numMeetings];
+        this.rooms = new int[numMeetings];
+
+        int m = 0;
+        int d = 0;
+        for (int row = 0; row < numSections; row++) {
+            Section section = sections.get(row);
+            this.crns[row] = Integer.parseInt(section.getCRN());
+            this.cids[row] = encode(codes, strings, section.getCID());
+            this.sectionNumbers[row] = encode(codes, strings, section.getSectionNumber());
+            this.titles[row] = encode(codes, strings, section.getTitle());
+            this.credits[row] = encode(codes, strings, section.getCredits());
+            this.instructors[row] = encode(codes, strings, section.getInstructor());
+            this.currEnrolled[row] = section.getCurrEnrolled();
+            this.seatsAvailable[row] = section.getSeatsAvailable();
+            this.failedMeetings[row] = section.getFailedMeetings();
+
+            this.meetingOffsets[row] = m;
+            for (Meeting meeting : section.getMeetings()) {
+                this.days[m] = (byte) meeting.getDow();
+                this.startTimes[m] = (short) meeting.getStartTime().getMinuteOfDay();
+                this.endTimes[m] = (short) meeting.getEndTime().getMinuteOfDay();
+                this.startDates[m] = (short) meeting.getStartDate().getDayOfYear();
+                this.endDates[m] = (short) meeting.getEndDate().getDayOfYear();
+                this.rooms[m] = encode(codes, strings, meeting.getRoom());
+                m++;
+            }
+
+            this.detailOffsets[row] = d;
+            for (String detail : section.getAdditionalDetails())
+                this.details[d++] = encode(codes, strings, detail);
+        }
+        this.meetingOffsets[numSections] = m;
+        this.detailOffsets[numSections] = d;
+        this.strings = strings.toArray(new String[0]);
+    }
+
+    /**
+     * Get the code of a string, adding it to the dictionary if new
+     *
+     * @param dictionary Codes of strings added so far
+     * @param strings    Strings added so far, indexed by code
+     * @param string     String to encode
+     * @return Code of string
+     */
+    private static int encode(Map<String, Integer> dictionary, List<String> strings, String string) {
+        return dictionary.computeIfAbsent(string, (s) -> {
+            strings.add(s);
+            return strings.size() - 1;
+        });
+    }
+
+    /**
+     * @return Number of sections
+     */
+    public int size() {
+        return this.crns.length;
+    }
+
+    /**
+     * @return Dictionary the strings of the sections were interned with, null if none
+     */
+    public TermDictionary getDictionary() {
+        return this.dictionary;
+    }
+
+    /**
+     * @return Number of unique strings stored
+     */
+    public int getNumStrings() {
+        return this.strings.length;
+    }
+
+    /**
+     * @param row Row of section
+     * @return Course Reference Number
+     */
+    public int getCRN(int row) {
+        return this.crns[row];
+    }
+
+    /**
+     * @param row Row of section
+     * @return Course ID
+     */
+    public String getCID(int row) {
+        return this.strings[this.cids[row]];
+    }
+
+    /**
+     * @param row Row of section
+     * @return Course name
+     */
+    public String getTitle(int row) {
+        return this.strings[this.titles[row]];
+    }
+
+    /**
+     * @param row Row of section
+     * @return Section Instructor
+     */
+    public String getInstructor(int row) {
+        return this.strings[this.instructors[row]];
+    }
+
+    /**
+     * @param row Row of section
+     * @return Index of the first meeting of the section
+     */
+    public int getFirstMeeting(int row) {
+        return this.meetingOffsets[row];
+    }
+
+    /**
+     * @param row Row of section
+     * @return Index after the last meeting of the section
+     */
+    public int getEndMeeting(int row) {
+        return this.meetingOffsets[row + 1];
+    }
+
+    /**
+     * @param meeting Index of meeting
+     * @return Day of meeting
+     */
+    public Day getDay(int meeting) {
+        return Day.values()[this.days[meeting]];
+    }
+
+    /**
+     * @param meeting Index of meeting
+     * @return Minute of day the meeting starts, -1 if TBA
+     */
+    public int getStartTime(int meeting) {
+        return this.startTimes[meeting];
+    }
+
+    /**
+     * @param meeting Index of meeting
+     * @return Minute of day the meeting ends, -1 if TBA
+     */
+    public int getEndTime(int meeting) {
+        return this.endTimes[meeting];
+    }
+
+    /**
+     * @param meeting Index of meeting
+     * @return Room of meeting
+     */
+    public String getRoom(int meeting) {
+        return this.strings[this.rooms[meeting]];
+    }
+
+    /**
+     * Create the section stored in a row
+     *
+     * @param row Row of section
+     * @return New section
+     */
+    public Section getSection(int row) {
+        Section section = new Section(
+                this.source,
+                this.crns[row],
+                this.strings[this.cids[row]],
+                this.strings[this.sectionNumbers[row]],
+                this.strings[this.titles[row]],
+                this.strings[this.credits[row]],
+                this.strings[this.instructors[row]],
+                this.currEnrolled[row],
+                this.seatsAvailable[row]
+        );
+
+        List<Meeting> meetings = new ArrayList<>();
+        for (int m = getFirstMeeting(row); m < getEndMeeting(row); m++) {
+            meetings.add(new Meeting(
+                    getDay(m),
+                    new SimpleTime(this.startTimes[m]),
+                    new SimpleTime(this.endTimes[m]),
+                    new SimpleDate(this.startDates[m]),
+                    new SimpleDate(this.endDates[m]),
+                    this.strings[this.rooms[m]]));
+        }
+        section.addMeetings(meetings);
+        for (int d = this.detailOffsets[row]; d < this.detailOffsets[row + 1]; d++)
+            section.addDetails(this.strings[this.details[d]]);
+        for (int i = 0; i < this.failedMeetings[row]; i++)
+            section.addFailedMeeting();
+
+        return section;
+    }
+
+    /**
+     * Create every section in the table
+     *
+     * @return List of new sections, in page order
+     */
+    public List<Section> getSections() {
+        List<Section> sections = new ArrayList<>(size());
+        for (int row = 0; row < size(); row++)
+            sections.add(getSection(row));
+        return sections;
+    }
+}
@@ -0,0 +1,97 @@
+package com.uh.rainbow.util.cache;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * <b>File:</b> SingleFlight.java
+ * <p>
+ * <b>Description:</b> Coalesces concurrent loads of the same key. The first caller runs the load
+ * and every caller that arrives while it is in flight waits for and shares the same result
+ *
+ * @param <K> Key type
+ * @param <V> Value type
+ * @author Derek Garcia
+ */
+public class SingleFlight<K, V> {
+
+    /**
+     * Load that can fail with an IOException
+     *
+     * @param <V> Value type
+     */
+    @FunctionalInterface
+    public interface Loader<V> {
+        V load() throws IOException;
+    }
+
+    private final ConcurrentHashMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final AtomicLong numShared = new AtomicLong();
+
+    /**
+     * Load a value, sharing the result of any load of the same key that is already in flight
+     *
+     * @param key    Key to load
+     * @param loader Load to run if nothing is in flight
+     * @return Loaded value
+     * @throws IOException Load failed
+     */
+    public V load(K key, Loader<V> loader) throws IOException {
+        CompletableFuture<V> future = new CompletableFuture<>();
+        CompletableFuture<V> existing = this.inFlight.putIfAbsent(key, future);
+
+        // Already in flight, wait for result
+        if (existing != null) {
+            this.numShared.incrementAndGet();
+            return await(existing);
+        }
+
+        // Run load and share result, including errors so waiters never block forever
+        try {
+            V value = loader.load();
+            future.complete(value);
+            return value;
+        } catch (Throwable t) {
+            future.completeExceptionally(t);
+            throw t;
+        } finally {
+            this.inFlight.remove(key, future);
+        }
+    }
+
+    /**
+     * @return Number of callers that shared an in flight load instead of running their own
+     */
+    public long getNumShared() {
+        return this.numShared.get();
+    }
+
+    /**
+     * Wait for an in flight load to finish
+     *
+     * @param future Future of in flight load
+     * @return Loaded value
+     * @throws IOException Load failed
+     */
+    private V await(CompletableFuture<V> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for in flight load");
+        } catch (ExecutionException e) {
+            // Rethrow original exception
+            if (e.getCause() instanceof IOException ioe)
+                throw ioe;
+            if (e.getCause() instanceof RuntimeException re)
+                throw re;
+            if (e.getCause() instanceof Error err)
+                throw err;
+            throw new IOException(e.getCause());
+        }
+    }
+}
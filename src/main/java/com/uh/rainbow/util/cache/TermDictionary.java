@@ -0,0 +1,48 @@
+package com.uh.rainbow.util.cache;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * <b>File:</b> TermDictionary.java
+ * <p>
+ * <b>Description:</b> Dictionary of the strings parsed from the subject pages of a term. Course IDs,
+ * instructors, rooms, and details repeat across many sections, so each value is only kept once
+ * and every section that has it shares the same instance
+ *
+ * @author Derek Garcia
+ */
+public class TermDictionary {
+
+    private final ConcurrentHashMap<String, String> strings = new ConcurrentHashMap<>();
+    private final AtomicLong numDuplicates = new AtomicLong();
+
+    /**
+     * Get the shared instance of a string, adding it to the dictionary if new
+     *
+     * @param string String to intern
+     * @return Shared instance equal to the string
+     */
+    public String intern(String string) {
+        String existing = this.strings.putIfAbsent(string, string);
+        if (existing == null)
+            return string;
+
+        this.numDuplicates.incrementAndGet();
+        return existing;
+    }
+
+    /**
+     * @return Number of unique strings
+     */
+    public int size() {
+        return this.strings.size();
+    }
+
+    /**
+     * @return Number of strings that were replaced by an existing instance
+     */
+    public long getNumDuplicates() {
+        return this.numDuplicates.get();
+    }
+}
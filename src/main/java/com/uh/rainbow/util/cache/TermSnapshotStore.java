@@ -0,0 +1,295 @@
+package com.uh.rainbow.util.cache;
+
+import com.uh.rainbow.dto.identifier.IdentifierDTO;
+import com.uh.rainbow.entities.Day;
+import com.uh.rainbow.entities.Meeting;
+import com.uh.rainbow.entities.Section;
+import com.uh.rainbow.entities.time.simple.SimpleDate;
+import com.uh.rainbow.entities.time.simple.SimpleTime;
+import com.uh.rainbow.util.SourceURL;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.text.ParseException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * <b>File:</b> TermSnapshotStore.java
+ * <p>
+ * <b>Description:</b> Persists the parsed subjects and sections of a term to disk so they
+ * can be restored after a restart. Each term is stored in its own compact binary file where
+ * every string is written once to a string table and referenced by index. Files are memory
+ * mapped when loaded
+ *
+ * @author Derek Garcia
+ */
+public class TermSnapshotStore {
+
+    /**
+     * Snapshot of a term
+     *
+     * @param subjects Subjects offered in the term
+     * @param sections Unfiltered sections of each saved subject page, keyed by subject ID
+     * @param savedAt  Time the snapshot was saved
+     */
+    public record Snapshot(List<IdentifierDTO> subjects, Map<String, List<Section>> sections, Instant savedAt) {
+    }
+
+    private static final int MAGIC = 0x52424E53;    // RBNS
+    private static final int VERSION = 1;
+    private static final String EXTENSION = ".snapshot";
+    private static final Pattern ID_PATTERN = Pattern.compile("\\w+");
+    private final Path directory;
+
+    /**
+     * Create a new snapshot store
+     *
+     * @param directory Directory to store snapshots in
+     */
+    public TermSnapshotStore(Path directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Save a snapshot of a term, replacing any existing snapshot
+     *
+     * @param instID   Institution ID
+     * @param termID   Term ID
+     * @param subjects Subjects offered in the term
+     * @param sections Unfiltered sections of each subject page to save, keyed by subject ID
+     * @throws IOException Failed to write snapshot
+     */
+    public void save(String instID, String termID, List<IdentifierDTO> subjects, Map<String, List<Section>> sections) throws IOException {
+        // Build string table
+        Map<String, Integer> strings = new LinkedHashMap<>();
+        for (IdentifierDTO subject : subjects) {
+            intern(strings, subject.id());
+            intern(strings, subject.name());
+        }
+        for (Map.Entry<String, List<Section>> page : sections.entrySet()) {
+            intern(strings, page.getKey());
+            for (Section section : page.getValue()) {
+                intern(strings, section.getCID());
+                intern(strings, section.getSectionNumber());
+                intern(strings, section.getTitle());
+                intern(strings, section.getCredits());
+                intern(strings, section.getInstructor());
+                section.getAdditionalDetails().forEach((detail) -> intern(strings, detail));
+                for (Meeting meeting : section.getMeetings()) {
+                    intern(strings, meeting.getStartDate().toString());
+                    intern(strings, meeting.getEndDate().toString());
+                    intern(strings, meeting.getRoom());
+                }
+            }
+        }
+
+        // Write to temp file then swap so readers never see a partial snapshot
+        Path path = getPath(instID, termID);
+        Files.createDirectories(this.directory);
+        Path tmp = Files.createTempFile(this.directory, path.getFileName().toString(), ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeLong(Instant.now().toEpochMilli());
+
+            // Strings
+            out.writeInt(strings.size());
+            for (String string : strings.keySet()) {
+                byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+                out.writeInt(bytes.length);
+                out.write(bytes);
+            }
+
+            // Subjects
+            out.writeInt(subjects.size());
+            for (IdentifierDTO subject : subjects) {
+                out.writeInt(strings.get(subject.id()));
+                out.writeInt(strings.get(subject.name()));
+            }
+
+            // Subject pages
+            out.writeInt(sections.size());
+            for (Map.Entry<String, List<Section>> page : sections.entrySet()) {
+                out.writeInt(strings.get(page.getKey()));
+                out.writeInt(page.getValue().size());
+                for (Section section : page.getValue())
+                    writeSection(out, strings, section);
+            }
+        } catch (IOException e) {
+            Files.deleteIfExists(tmp);
+            throw e;
+        }
+        Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Load the snapshot of a term
+     *
+     * @param instID Institution ID
+     * @param termID Term ID
+     * @return Snapshot, null if no snapshot has been saved
+     * @throws IOException Failed to read snapshot or snapshot is corrupt
+     */
+    public Snapshot load(String instID, String termID) throws IOException {
+        Path path = getPath(instID, termID);
+        if (!Files.exists(path))
+            return null;
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+
+            // Check header
+            if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION)
+                throw new IOException("Unsupported snapshot '%s'".formatted(path));
+            Instant savedAt = Instant.ofEpochMilli(buffer.getLong());
+
+            // Strings
+            String[] strings = new String[buffer.getInt()];
+            for (int i = 0; i < strings.length; i++) {
+                byte[] bytes = new byte[buffer.getInt()];
+                buffer.get(bytes);
+                strings[i] = new String(bytes, StandardCharsets.UTF_8);
+            }
+
+            // Subjects
+            int numSubjects = buffer.getInt();
+            List<IdentifierDTO> subjects = new ArrayList<>(numSubjects);
+            for (int i = 0; i < numSubjects; i++)
+                subjects.add(new IdentifierDTO(strings[buffer.getInt()], strings[buffer.getInt()]));
+
+            // Subject pages
+            int numPages = buffer.getInt();
+            Map<String, List<Section>> sections = new LinkedHashMap<>();
+            for (int i = 0; i < numPages; i++) {
+                String subjectID = strings[buffer.getInt()];
+                SourceURL source = new SourceURL(instID, termID, subjectID);
+                int numSections = buffer.getInt();
+                List<Section> page = new ArrayList<>(numSections);
+                for (int j = 0; j < numSections; j++)
+                    page.add(readSection(buffer, strings, source));
+                sections.put(subjectID, page);
+            }
+
+            return new Snapshot(subjects, sections, savedAt);
+        } catch (BufferUnderflowException | IndexOutOfBoundsException | NegativeArraySizeException | IllegalArgumentException |
+                 ParseException e) {
+            throw new IOException("Corrupt snapshot '%s'".formatted(path), e);
+        }
+    }
+
+    /**
+     * Write a section
+     *
+     * @param out     Output stream to write to
+     * @param strings String table
+     * @param section Section to write
+     * @throws IOException Failed to write section
+     */
+    private static void writeSection(DataOutputStream out, Map<String, Integer> strings, Section section) throws IOException {
+        out.writeInt(Integer.parseInt(section.getCRN()));
+        out.writeInt(strings.get(section.getCID()));
+        out.writeInt(strings.get(section.getSectionNumber()));
+        out.writeInt(strings.get(section.getTitle()));
+        out.writeInt(strings.get(section.getCredits()));
+        out.writeInt(strings.get(section.getInstructor()));
+        out.writeInt(section.getCurrEnrolled());
+        out.writeInt(section.getSeatsAvailable());
+        out.writeInt(section.getFailedMeetings());
+
+        out.writeInt(section.getAdditionalDetails().size());
+        for (String detail : section.getAdditionalDetails())
+            out.writeInt(strings.get(detail));
+
+        out.writeInt(section.getMeetings().size());
+        for (Meeting meeting : section.getMeetings()) {
+            out.writeByte(meeting.getDay().ordinal());
+            out.writeInt(meeting.getStartTime().getMinuteOfDay());
+            out.writeInt(meeting.getEndTime().getMinuteOfDay());
+            out.writeInt(strings.get(meeting.getStartDate().toString()));
+            out.writeInt(strings.get(meeting.getEndDate().toString()));
+            out.writeInt(strings.get(meeting.getRoom()));
+        }
+    }
+
+    /**
+     * Read a section
+     *
+     * @param buffer  Buffer to read from
+     * @param strings String table
+     * @param source  Source URL of the subject page
+     * @return Section
+     * @throws ParseException Failed to restore meeting time or date
+     */
+    private static Section readSection(ByteBuffer buffer, String[] strings, SourceURL source) throws ParseException {
+        Section section = new Section(
+                source,
+                buffer.getInt(),
+                strings[buffer.getInt()],
+                strings[buffer.getInt()],
+                strings[buffer.getInt()],
+                strings[buffer.getInt()],
+                strings[buffer.getInt()],
+                buffer.getInt(),
+                buffer.getInt()
+        );
+        int failedMeetings = buffer.getInt();
+        for (int i = 0; i < failedMeetings; i++)
+            section.addFailedMeeting();
+
+        int numDetails = buffer.getInt();
+        for (int i = 0; i < numDetails; i++)
+            section.addDetails(strings[buffer.getInt()]);
+
+        int numMeetings = buffer.getInt();
+        List<Meeting> meetings = new ArrayList<>(numMeetings);
+        for (int i = 0; i < numMeetings; i++) {
+            meetings.add(new Meeting(
+                    Day.values()[buffer.get()],
+                    new SimpleTime(buffer.getInt()),
+                    new SimpleTime(buffer.getInt()),
+                    new SimpleDate(strings[buffer.getInt()]),
+                    new SimpleDate(strings[buffer.getInt()]),
+                    strings[buffer.getInt()]
+            ));
+        }
+        section.addMeetings(meetings);
+        return section;
+    }
+
+    /**
+     * Add a string to the string table
+     *
+     * @param strings String table
+     * @param string  String to add
+     */
+    private static void intern(Map<String, Integer> strings, String string) {
+        strings.putIfAbsent(string, strings.size());
+    }
+
+    /**
+     * @param instID Institution ID
+     * @param termID Term ID
+     * @return Path to a term snapshot
+     * @throws IOException IDs can't be used as a file name
+     */
+    private Path getPath(String instID, String termID) throws IOException {
+        // IDs come from request paths, so only allow word characters
+        if (!ID_PATTERN.matcher(instID).matches() || !ID_PATTERN.matcher(termID).matches())
+            throw new IOException("Invalid snapshot ids '%s', '%s'".formatted(instID, termID));
+        return this.directory.resolve("%s-%s%s".formatted(instID.toUpperCase(), termID, EXTENSION));
+    }
+}
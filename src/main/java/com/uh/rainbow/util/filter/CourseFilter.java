@@ -3,6 +3,7 @@ package com.uh.rainbow.util.filter;
 import com.uh.rainbow.entities.Meeting;
 import com.uh.rainbow.entities.Section;
 import com.uh.rainbow.entities.time.simple.SimpleTime;
+import com.uh.rainbow.util.cache.SectionTable;
 import com.uh.rainbow.util.logging.Logger;
 import com.uh.rainbow.util.logging.MessageBuilder;
 import org.apache.commons.lang3.StringUtils;
@@ -287,7 +288,7 @@ public class CourseFilter {
 
         // Validate section details
         if (!(
-                validCourse(section.getCRN(), section.getCID()) &&
+                validCourse(Integer.parseInt(section.getCRN()), section.getCID()) &&
                         validInstructor(section.getInstructor()) &&
                         keywordsMatch(section.getTitle())))
             return false;
@@ -297,7 +298,7 @@ public class CourseFilter {
         int numSync = 0;
         for (Meeting m : section.getMeetings()) {
             // Fail immediately if violate time
-            if (!(validDay(m.getDay().toCode()) && validStartTime(m.getStartTime()) && validEndTime(m.getEndTime())))
+            if (!(validDay(m.getDay().toCode()) && validStartTime(m.getStartTime().getMinuteOfDay()) && validEndTime(m.getEndTime().getMinuteOfDay())))
                 return false;
 
             // update meeting type counts
@@ -312,6 +313,41 @@ public class CourseFilter {
         return validMeetingType(this.online, numOnline, totalMeetings) && validMeetingType(this.synchronous, numSync, totalMeetings);
     }
 
+    /**
+     * Validate a section stored in a table against filters, reading the table directly
+     *
+     * @param table Table of sections
+     * @param row   Row of the section to test
+     * @return True if pass, false otherwise
+     */
+    public boolean validSection(SectionTable table, int row) {
+
+        // Validate section details
+        if (!(
+                validCourse(table.getCRN(row), table.getCID(row)) &&
+                        validInstructor(table.getInstructor(row)) &&
+                        keywordsMatch(table.getTitle(row))))
+            return false;
+
+        // Validate meeting details
+        int numOnline = 0;
+        int numSync = 0;
+        for (int m = table.getFirstMeeting(row); m < table.getEndMeeting(row); m++) {
+            // Fail immediately if violate time
+            if (!(validDay(table.getDay(m).toCode()) && validStartTime(table.getStartTime(m)) && validEndTime(table.getEndTime(m))))
+                return false;
+
+            // update meeting type counts
+            String lowerRoom = table.getRoom(m).toLowerCase();
+            numOnline += lowerRoom.contains("online") ? 1 : 0;
+            numSync += !lowerRoom.contains("asynchronous") ? 1 : 0;     // +1 if in-person / online sync
+        }
+
+        // Fail if fail meeting validation
+        int totalMeetings = table.getEndMeeting(row) - table.getFirstMeeting(row);
+        return validMeetingType(this.online, numOnline, totalMeetings) && validMeetingType(this.synchronous, numSync, totalMeetings);
+    }
+
     /**
      * Validate sections broad to narrow
      * 1. Valid if subjects (ICS), codes (101), full courses (ICS 101), or crns (75380) are not set
@@ -325,7 +361,7 @@ public class CourseFilter {
      * @param cid Course ID to validate
      * @return true if found, false otherwise
      */
-    private boolean validCourse(String crn, String cid) {
+    private boolean validCourse(int crn, String cid) {
 
         // default accept
         if (this.subjects == null && this.codes == null && this.fullCourses == null && this.crns == null)
@@ -346,7 +382,7 @@ public class CourseFilter {
             return true;
 
         // accept if crn match
-        return this.crns != null && this.crns.contains(crn);
+        return this.crns != null && this.crns.contains(Integer.toString(crn));
     }
 
     /**
@@ -366,31 +402,39 @@ public class CourseFilter {
     /**
      * Check if Start Time is valid.
      *
-     * @param startTime Simple start time
+     * @param startTime Minute of day of start time, -1 if TBA
      * @return true if valid, false otherwise
      */
-    private boolean validStartTime(SimpleTime startTime) {
+    private boolean validStartTime(int startTime) {
         // default accept
         if (this.startAfter == null)
             return true;
 
+        // TBA times can't be compared, accept
+        if (startTime == -1 || this.startAfter.getMinuteOfDay() == -1)
+            return true;
+
         // fail if the start time is before the earliest start
-        return startTime.beforeOrEqual(this.startAfter) != 1;
+        return startTime > this.startAfter.getMinuteOfDay();
     }
 
     /**
      * Check if End Time is valid.
      *
-     * @param endTime Simple end time
+     * @param endTime Minute of day of end time, -1 if TBA
      * @return true if valid, false otherwise
      */
-    private boolean validEndTime(SimpleTime endTime) {
+    private boolean validEndTime(int endTime) {
         // default accept
         if (this.endBefore == null)
             return true;
 
+        // TBA times can't be compared, accept
+        if (endTime == -1 || this.endBefore.getMinuteOfDay() == -1)
+            return true;
+
         // fail if the end time is after the latest end
-        return endTime.afterOrEqual(this.endBefore) != 1;
+        return endTime < this.endBefore.getMinuteOfDay();
     }
 
     /**
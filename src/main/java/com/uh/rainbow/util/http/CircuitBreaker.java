@@ -0,0 +1,142 @@
+package com.uh.rainbow.util.http;
+
+import com.uh.rainbow.exception.UpstreamUnavailableException;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * <b>File:</b> CircuitBreaker.java
+ * <p>
+ * <b>Description:</b> Stops sending requests to a failing host. After enough consecutive failures
+ * the breaker opens and rejects every request until the open duration has passed, then lets a
+ * single trial request through. The breaker closes if the trial succeeds and opens again if it fails
+ *
+ * @author Derek Garcia
+ */
+public class CircuitBreaker {
+
+    /**
+     * State of the breaker
+     */
+    public enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    private final int failureThreshold;
+    private final Duration openDuration;
+    private final Clock clock;
+    private State state = State.CLOSED;
+    private int numFailures = 0;
+    private Instant openedAt;
+    private boolean trialInFlight = false;
+    private long numRejected = 0;
+
+    /**
+     * Create new circuit breaker
+     *
+     * @param failureThreshold Number of consecutive failures before opening
+     * @param openDuration     Time to reject requests before allowing a trial request
+     */
+    public CircuitBreaker(int failureThreshold, Duration openDuration) {
+        this(failureThreshold, openDuration, Clock.systemUTC());
+    }
+
+    /**
+     * Create new circuit breaker
+     *
+     * @param failureThreshold Number of consecutive failures before opening
+     * @param openDuration     Time to reject requests before allowing a trial request
+     * @param clock            Clock to use to check if open duration has passed
+     */
+    public CircuitBreaker(int failureThreshold, Duration openDuration, Clock clock) {
+        this.failureThreshold = failureThreshold;
+        this.openDuration = openDuration;
+        this.clock = clock;
+    }
+
+    /**
+     * Get permission to send a request. Every permitted request must report its outcome
+     * with {@link #record(boolean)}
+     *
+     * @param url URL of the request
+     * @throws UpstreamUnavailableException Breaker is open or a trial request is already in flight
+     */
+    public synchronized void acquire(String url) throws UpstreamUnavailableException {
+        updateState();
+        if (this.state == State.OPEN || (this.state == State.HALF_OPEN && this.trialInFlight)) {
+            this.numRejected++;
+            throw new UpstreamUnavailableException(url, getRetryAfter());
+        }
+
+        if (this.state == State.HALF_OPEN)
+            this.trialInFlight = true;
+    }
+
+    /**
+     * Record the outcome of a permitted request
+     *
+     * @param success True if the host handled the request, false otherwise
+     */
+    public synchronized void record(boolean success) {
+        updateState();
+        if (success) {
+            // Only the trial request closes the breaker, requests sent before opening don't
+            if (this.state == State.OPEN || (this.state == State.HALF_OPEN && !this.trialInFlight))
+                return;
+            this.state = State.CLOSED;
+            this.numFailures = 0;
+            this.trialInFlight = false;
+            return;
+        }
+
+        // Already open, don't extend because of requests sent before opening
+        if (this.state == State.OPEN)
+            return;
+
+        this.numFailures++;
+        if (this.state == State.HALF_OPEN || this.numFailures >= this.failureThreshold) {
+            this.state = State.OPEN;
+            this.openedAt = this.clock.instant();
+            this.trialInFlight = false;
+        }
+    }
+
+    /**
+     * @return Current state of the breaker
+     */
+    public synchronized State getState() {
+        updateState();
+        return this.state;
+    }
+
+    /**
+     * @return Number of requests rejected without being sent
+     */
+    public synchronized long getNumRejected() {
+        return this.numRejected;
+    }
+
+    /**
+     * Allow a trial request once the open duration has passed
+     */
+    private void updateState() {
+        if (this.state == State.OPEN && getRetryAfter().isZero()) {
+            this.state = State.HALF_OPEN;
+            this.trialInFlight = false;
+        }
+    }
+
+    /**
+     * @return Time until the breaker allows a trial request, zero if not open
+     */
+    private Duration getRetryAfter() {
+        if (this.state != State.OPEN)
+            return Duration.ZERO;
+        Duration remaining = Duration.between(this.clock.instant(), this.openedAt.plus(this.openDuration));
+        return remaining.isNegative() ? Duration.ZERO : remaining;
+    }
+}
@@ -0,0 +1,54 @@
+package com.uh.rainbow.util.http;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+
+/**
+ * <b>File:</b> ConcurrencyLimitedFetcher.java
+ * <p>
+ * <b>Description:</b> Page fetcher that caps the number of requests in flight to the upstream host.
+ * Callers past the limit wait for a permit, so fan-out can use as many threads as it likes
+ * without flooding UH
+ *
+ * @author Derek Garcia
+ */
+public class ConcurrencyLimitedFetcher implements PageFetcher {
+    private final PageFetcher fetcher;
+    private final Semaphore permits;
+
+    /**
+     * Create new fetcher
+     *
+     * @param fetcher            Fetcher to send requests with
+     * @param maxConcurrentFetch Max number of requests in flight at once
+     */
+    public ConcurrencyLimitedFetcher(PageFetcher fetcher, int maxConcurrentFetch) {
+        this.fetcher = fetcher;
+        this.permits = new Semaphore(maxConcurrentFetch, true);     // fair so no request starves
+    }
+
+    @Override
+    public FetchResponse fetch(String url, Map<String, String> headers) throws IOException {
+        try {
+            this.permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting to fetch %s".formatted(url));
+        }
+
+        try {
+            return this.fetcher.fetch(url, headers);
+        } finally {
+            this.permits.release();
+        }
+    }
+
+    /**
+     * @return Number of requests waiting for a permit
+     */
+    public int getNumWaiting() {
+        return this.permits.getQueueLength();
+    }
+}
@@ -0,0 +1,89 @@
+package com.uh.rainbow.util.http;
+
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * <b>File:</b> FetchResponse.java
+ * <p>
+ * <b>Description:</b> Raw response of a fetched page
+ *
+ * @param url        URL that was fetched
+ * @param statusCode HTTP status code
+ * @param headers    Response headers, keys are case-insensitive
+ * @param body       Decoded response body
+ * @author Derek Garcia
+ */
+public record FetchResponse(String url, int statusCode, Map<String, List<String>> headers, byte[] body) {
+
+    /**
+     * Create new response
+     *
+     * @param url        URL that was fetched
+     * @param statusCode HTTP status code
+     * @param headers    Response headers
+     * @param body       Decoded response body
+     */
+    public FetchResponse {
+        Map<String, List<String>> caseInsensitive = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        caseInsensitive.putAll(headers);
+        headers = caseInsensitive;
+    }
+
+    /**
+     * Get the first value of a header
+     *
+     * @param name Name of header
+     * @return Value, null if not sent
+     */
+    public String header(String name) {
+        List<String> values = this.headers.get(name);
+        return values == null || values.isEmpty() ? null : values.get(0);
+    }
+
+    /**
+     * Parse the body as HTML, using the charset from the Content-Type header if sent
+     *
+     * @return HTML of page
+     * @throws IOException Failed to read body
+     */
+    public Document parse() throws IOException {
+        return Jsoup.parse(new ByteArrayInputStream(this.body), getCharset(), this.url);
+    }
+
+    /**
+     * Read the body as text without parsing it, using the charset from the Content-Type header if sent
+     *
+     * @return Reader of body, UTF-8 if no or unknown charset
+     */
+    public Reader reader() {
+        Charset charset = StandardCharsets.UTF_8;
+        try {
+            if (getCharset() != null)
+                charset = Charset.forName(getCharset());
+        } catch (IllegalArgumentException ignored) {
+            // Unknown charset, fallback to UTF-8
+        }
+        return new InputStreamReader(new ByteArrayInputStream(this.body), charset);
+    }
+
+    /**
+     * @return Charset from the Content-Type header, null if not sent
+     */
+    private String getCharset() {
+        String contentType = header("Content-Type");
+        if (contentType == null || !contentType.toLowerCase().contains("charset="))
+            return null;
+        return contentType.substring(contentType.toLowerCase().indexOf("charset=") + 8).replace("\"", "").strip();
+    }
+}
@@ -0,0 +1,84 @@
+package com.uh.rainbow.util.http;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * <b>File:</b> HttpClientFetcher.java
+ * <p>
+ * <b>Description:</b> Page fetcher backed by a single shared {@link HttpClient} so connections are
+ * kept alive and reused ( HTTP/2 when the server supports it ). Compressed responses are decoded.
+ * Failed requests are not retried here so every attempt goes through the caller's rate limiter and
+ * circuit breaker
+ *
+ * @author Derek Garcia
+ */
+public class HttpClientFetcher implements PageFetcher {
+    private final HttpClient client;
+    private final Duration requestTimeout;
+
+    /**
+     * Create new fetcher
+     *
+     * @param connectTimeout Max time to wait to connect
+     * @param requestTimeout Max time to wait for a response
+     */
+    public HttpClientFetcher(Duration connectTimeout, Duration requestTimeout) {
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .connectTimeout(connectTimeout)
+                .build();
+        this.requestTimeout = requestTimeout;
+    }
+
+    @Override
+    public FetchResponse fetch(String url, Map<String, String> headers) throws IOException {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(url))
+                .timeout(this.requestTimeout)
+                .header("Accept-Encoding", "gzip, deflate");
+        headers.forEach(builder::header);
+        HttpRequest request = builder.GET().build();
+
+        try {
+            HttpResponse<byte[]> response = this.client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+            return new FetchResponse(url, response.statusCode(), response.headers().map(), decode(response));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while fetching %s".formatted(url));
+        }
+    }
+
+    /**
+     * Decode a compressed response body
+     *
+     * @param response Response to decode
+     * @return Decoded body
+     * @throws IOException Failed to decode body
+     */
+    private static byte[] decode(HttpResponse<byte[]> response) throws IOException {
+        // Nothing to decode, ie 304
+        if (response.body().length == 0)
+            return response.body();
+
+        String encoding = response.headers().firstValue("Content-Encoding").orElse("identity").strip().toLowerCase();
+        InputStream body = new ByteArrayInputStream(response.body());
+        try (InputStream in = switch (encoding) {
+            case "gzip", "x-gzip" -> new GZIPInputStream(body);
+            case "deflate" -> new InflaterInputStream(body);
+            default -> body;
+        }) {
+            return in.readAllBytes();
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.uh.rainbow.util.http;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * <b>File:</b> PageFetcher.java
+ * <p>
+ * <b>Description:</b> Fetches raw pages over HTTP. Only handles transport, status codes
+ * are left to the caller
+ *
+ * @author Derek Garcia
+ */
+public interface PageFetcher {
+
+    /**
+     * Fetch a page
+     *
+     * @param url     URL to fetch
+     * @param headers Additional request headers
+     * @return Response with decoded body
+     * @throws IOException Failed to connect to url
+     */
+    FetchResponse fetch(String url, Map<String, String> headers) throws IOException;
+}
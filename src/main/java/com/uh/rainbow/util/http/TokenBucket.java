@@ -0,0 +1,97 @@
+package com.uh.rainbow.util.http;
+
+import java.io.InterruptedIOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * <b>File:</b> TokenBucket.java
+ * <p>
+ * <b>Description:</b> Rate limiter that refills permits at a fixed rate and allows short bursts.
+ * Permits are reserved up front, so callers past the limit are queued in arrival order
+ * and only wait for their own slot
+ *
+ * @author Derek Garcia
+ */
+public class TokenBucket {
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+    private final long interval;        // nanos between permits
+    private final long burstTolerance;  // nanos a caller can get ahead of the rate
+    private final Clock clock;
+    private final AtomicLong numThrottled = new AtomicLong();
+    private long nextPermit = Long.MIN_VALUE;   // theoretical time the next permit is free
+
+    /**
+     * Create new token bucket
+     *
+     * @param permitsPerSecond Rate permits are refilled at
+     * @param burst            Max permits that can be taken at once
+     */
+    public TokenBucket(double permitsPerSecond, int burst) {
+        this(permitsPerSecond, burst, Clock.systemUTC());
+    }
+
+    /**
+     * Create new token bucket
+     *
+     * @param permitsPerSecond Rate permits are refilled at
+     * @param burst            Max permits that can be taken at once
+     * @param clock            Clock to use to refill permits
+     */
+    public TokenBucket(double permitsPerSecond, int burst, Clock clock) {
+        if (permitsPerSecond <= 0 || burst < 1)
+            throw new IllegalArgumentException("Rate and burst must be positive");
+        this.interval = (long) (NANOS_PER_SECOND / permitsPerSecond);
+        this.burstTolerance = this.interval * (burst - 1);
+        this.clock = clock;
+    }
+
+    /**
+     * Reserve a permit
+     *
+     * @return Time to wait until the permit can be used, zero if available now
+     */
+    public synchronized Duration reserve() {
+        long now = toNanos(this.clock.instant());
+        long next = Math.max(this.nextPermit, now);
+        long wait = Math.max(0, next - now - this.burstTolerance);
+        this.nextPermit = next + this.interval;
+        return Duration.ofNanos(wait);
+    }
+
+    /**
+     * Take a permit, waiting until one is available
+     *
+     * @throws InterruptedIOException Interrupted while waiting
+     */
+    public void acquire() throws InterruptedIOException {
+        Duration wait = reserve();
+        if (wait.isZero())
+            return;
+
+        this.numThrottled.incrementAndGet();
+        try {
+            Thread.sleep(wait);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for a permit");
+        }
+    }
+
+    /**
+     * @return Number of callers that had to wait for a permit
+     */
+    public long getNumThrottled() {
+        return this.numThrottled.get();
+    }
+
+    /**
+     * @param instant Instant to convert
+     * @return Nanoseconds since epoch
+     */
+    private static long toNanos(Instant instant) {
+        return instant.getEpochSecond() * NANOS_PER_SECOND + instant.getNano();
+    }
+}
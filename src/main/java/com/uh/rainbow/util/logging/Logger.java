@@ -61,13 +61,22 @@ public class Logger {
         return mb.build();
     }
 
+    /**
+     * @return True if debug messages are logged, false otherwise
+     */
+    public boolean isDebugEnabled() {
+        return this.log.isDebugEnabled();
+    }
+
     /**
      * Log a debug message
      *
      * @param mb MessageBuilder loaded with message details
      */
     public void debug(MessageBuilder mb) {
-        this.log.debug(mb.build());
+        // Skip building the message if it won't be logged
+        if (this.log.isDebugEnabled())
+            this.log.debug(mb.build());
     }
 
     /**
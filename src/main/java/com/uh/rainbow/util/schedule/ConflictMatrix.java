@@ -0,0 +1,224 @@
+package com.uh.rainbow.util.schedule;
+
+import com.uh.rainbow.entities.Section;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <b>File:</b> ConflictMatrix.java
+ * <p>
+ * <b>Description:</b> Precomputed pairwise section conflicts stored as long[] bitsets.
+ * Sections are indexed by ordinal and grouped by course, so a schedule can be described
+ * and extended using only bitwise operations
+ *
+ * @author Derek Garcia
+ */
+public class ConflictMatrix {
+    private static final int WORD_BITS = 64;
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final List<Section> sections = new ArrayList<>();
+    private final List<String> courses = new ArrayList<>();
+    private final int[] courseOf;
+    private final long[][] courseMasks;
+    private final long[][] conflicts;
+    private final int words;
+
+    /**
+     * Create a new conflict matrix for a pool of sections
+     *
+     * @param sections Pool of sections to precompute conflicts for
+     */
+    public ConflictMatrix(List<Section> sections) {
+        // Group sections by course, dropping duplicates
+        Map<String, List<Section>> groups = new LinkedHashMap<>();
+        for (Section section : new LinkedHashSet<>(sections))
+            groups.computeIfAbsent(section.getCID(), (cid) -> new ArrayList<>()).add(section);
+
+        int numSections = groups.values().stream().mapToInt(List::size).sum();
+        this.words = wordsFor(numSections);
+        this.courseOf = new int[numSections];
+        this.courseMasks = new long[groups.size()][];
+
+        // Assign ordinals so each course owns a contiguous run of bits
+        for (Map.Entry<String, List<Section>> group : groups.entrySet()) {
+            int course = this.courses.size();
+            this.courses.add(group.getKey());
+            this.courseMasks[course] = new long[this.words];
+            for (Section section : group.getValue()) {
+                int ordinal = this.sections.size();
+                this.sections.add(section);
+                this.courseOf[ordinal] = course;
+                set(this.courseMasks[course], ordinal);
+            }
+        }
+
+        // Sections conflict with themselves, sections of the same course, and any overlapping section
+        this.conflicts = new long[this.sections.size()][];
+        for (int i = 0; i < this.sections.size(); i++)
+            this.conflicts[i] = this.courseMasks[this.courseOf[i]].clone();
+
+        for (int i = 0; i < this.sections.size(); i++) {
+            for (int j = i + 1; j < this.sections.size(); j++) {
+                if (this.courseOf[i] != this.courseOf[j] && this.sections.get(i).conflictsWith(this.sections.get(j))) {
+                    set(this.conflicts[i], j);
+                    set(this.conflicts[j], i);
+                }
+            }
+        }
+    }
+
+    /**
+     * Get the number of words needed to store a bitset of a given size
+     *
+     * @param size Number of bits
+     * @return Number of longs needed
+     */
+    public static int wordsFor(int size) {
+        return (size + WORD_BITS - 1) / WORD_BITS;
+    }
+
+    /**
+     * Set a bit in a bitset
+     *
+     * @param bits    Bitset to update
+     * @param ordinal Bit to set
+     */
+    public static void set(long[] bits, int ordinal) {
+        bits[ordinal / WORD_BITS] |= 1L << ordinal;
+    }
+
+    /**
+     * Test if a bit is set in a bitset
+     *
+     * @param bits    Bitset to check
+     * @param ordinal Bit to check
+     * @return True if set, false otherwise
+     */
+    public static boolean isSet(long[] bits, int ordinal) {
+        return (bits[ordinal / WORD_BITS] & (1L << ordinal)) != 0;
+    }
+
+    /**
+     * Find the next set bit in a bitset
+     *
+     * @param bits Bitset to search
+     * @param from Ordinal to start searching from, inclusive
+     * @return Ordinal of next set bit, -1 if none
+     */
+    public static int nextSetBit(long[] bits, int from) {
+        int w = from / WORD_BITS;
+        if (w >= bits.length)
+            return -1;
+
+        long word = bits[w] & (-1L << from);
+        while (true) {
+            if (word != 0)
+                return w * WORD_BITS + Long.numberOfTrailingZeros(word);
+            if (++w == bits.length)
+                return -1;
+            word = bits[w];
+        }
+    }
+
+    /**
+     * Test if two sections can't be scheduled together
+     *
+     * @param a Ordinal of first section
+     * @param b Ordinal of second section
+     * @return True if conflict, false otherwise
+     */
+    public boolean conflicts(int a, int b) {
+        return isSet(this.conflicts[a], b);
+    }
+
+    /**
+     * @param ordinal Ordinal of section
+     * @return Bitset of every section that can't be scheduled with the given section, including itself
+     */
+    public long[] getConflicts(int ordinal) {
+        return this.conflicts[ordinal];
+    }
+
+    /**
+     * @param course Ordinal of course
+     * @return Bitset of every section for the given course
+     */
+    public long[] getCourseMask(int course) {
+        return this.courseMasks[course];
+    }
+
+    /**
+     * @param ordinal Ordinal of section
+     * @return Ordinal of the course the section belongs to
+     */
+    public int getCourse(int ordinal) {
+        return this.courseOf[ordinal];
+    }
+
+    /**
+     * @param ordinal Ordinal of section
+     * @return Section
+     */
+    public Section getSection(int ordinal) {
+        return this.sections.get(ordinal);
+    }
+
+    /**
+     * @return Number of sections
+     */
+    public int getNumSections() {
+        return this.sections.size();
+    }
+
+    /**
+     * @return Number of courses
+     */
+    public int getNumCourses() {
+        return this.courses.size();
+    }
+
+    /**
+     * Hash the order, courses, and conflicts of the sections. Any change that would change the order
+     * of the search changes the hash, but seat counts and other details don't
+     *
+     * @return Fingerprint of the search space
+     */
+    public long getFingerprint() {
+        long hash = FNV_OFFSET;
+        for (int i = 0; i < this.sections.size(); i++) {
+            hash = mix(hash, this.sections.get(i).getCRN().hashCode());
+            hash = mix(hash, this.courseOf[i]);
+            for (long word : this.conflicts[i])
+                hash = mix(hash, word);
+        }
+        return hash;
+    }
+
+    /**
+     * Add a number to a running 64-bit FNV-1a hash
+     *
+     * @param hash  Running hash
+     * @param value Number to add
+     * @return Updated hash
+     */
+    private static long mix(long hash, long value) {
+        for (int i = 0; i < Long.BYTES; i++) {
+            hash ^= (value >>> (i * 8)) & 0xff;
+            hash *= FNV_PRIME;
+        }
+        return hash;
+    }
+
+    /**
+     * @return Number of longs used by each bitset
+     */
+    public int getWords() {
+        return this.words;
+    }
+}
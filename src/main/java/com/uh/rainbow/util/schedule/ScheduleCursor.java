@@ -0,0 +1,90 @@
+package com.uh.rainbow.util.schedule;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * <b>File:</b> ScheduleCursor.java
+ * <p>
+ * <b>Description:</b> Continuation cursor that records the path the solver took to reach a schedule.
+ * The search is deterministic, so resuming from the path skips every schedule already returned.
+ * Encoded as a fingerprint of the sections searched followed by the CRNs of each section in the order
+ * they were added ie 2kq4z8m1x0c9.75380-75412-75501. The fingerprint rejects cursors from a search over
+ * different sections, which would otherwise silently skip or repeat schedules
+ *
+ * @author Derek Garcia
+ */
+public class ScheduleCursor {
+    private static final String DELIMITER = "-";
+    private static final String FINGERPRINT_DELIMITER = ".";
+    private static final int FINGERPRINT_RADIX = 36;
+    private final int[] path;
+
+    /**
+     * Create a new cursor
+     *
+     * @param path Ordinal of the section added at each depth of the search
+     */
+    public ScheduleCursor(int[] path) {
+        this.path = path.clone();
+    }
+
+    /**
+     * Decode a cursor string
+     *
+     * @param cursor Encoded cursor
+     * @param matrix Conflict matrix of the sections being searched
+     * @return Cursor
+     * @throws IllegalArgumentException Cursor is from a search over different sections
+     */
+    public static ScheduleCursor decode(String cursor, ConflictMatrix matrix) {
+        // Sections changed since the cursor was made, resuming would skip or repeat schedules
+        int split = cursor.indexOf(FINGERPRINT_DELIMITER);
+        String fingerprint = Long.toUnsignedString(matrix.getFingerprint(), FINGERPRINT_RADIX);
+        if (split == -1 || !cursor.substring(0, split).equals(fingerprint))
+            throw new IllegalArgumentException("Invalid cursor '%s', sections have changed since it was made".formatted(cursor));
+
+        List<Integer> path = new ArrayList<>();
+        for (String crn : cursor.substring(split + 1).split(DELIMITER)) {
+            int ordinal = -1;
+            for (int i = 0; i < matrix.getNumSections() && ordinal == -1; i++) {
+                if (matrix.getSection(i).getCRN().equals(crn.strip()))
+                    ordinal = i;
+            }
+
+            // Cursor from different request or sections no longer available
+            if (ordinal == -1)
+                throw new IllegalArgumentException("Invalid cursor '%s', no section with crn '%s'".formatted(cursor, crn));
+            path.add(ordinal);
+        }
+        return new ScheduleCursor(path.stream().mapToInt(Integer::intValue).toArray());
+    }
+
+    /**
+     * Encode this cursor as a string
+     *
+     * @param matrix Conflict matrix of the sections being searched
+     * @return Encoded cursor
+     */
+    public String encode(ConflictMatrix matrix) {
+        List<String> crns = new ArrayList<>();
+        for (int ordinal : this.path)
+            crns.add(matrix.getSection(ordinal).getCRN());
+        return Long.toUnsignedString(matrix.getFingerprint(), FINGERPRINT_RADIX) + FINGERPRINT_DELIMITER + String.join(DELIMITER, crns);
+    }
+
+    /**
+     * @param depth Depth of the search
+     * @return Ordinal of the section added at the given depth
+     */
+    public int get(int depth) {
+        return this.path[depth];
+    }
+
+    /**
+     * @return Number of sections in the path
+     */
+    public int length() {
+        return this.path.length;
+    }
+}
@@ -0,0 +1,165 @@
+package com.uh.rainbow.util.schedule;
+
+import com.uh.rainbow.entities.Day;
+import com.uh.rainbow.entities.Meeting;
+import com.uh.rainbow.entities.PotentialSchedule;
+import com.uh.rainbow.entities.Section;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * <b>File:</b> ScheduleObjective.java
+ * <p>
+ * <b>Description:</b> Objectives used to rank schedules. Lower scores are better.
+ * Each objective also provides an optimistic bound for a partial schedule, a score that
+ * no completed schedule built from it can beat, so the solver can prune whole subtrees
+ *
+ * @author Derek Garcia
+ */
+public enum ScheduleObjective {
+    /**
+     * Fewest days on campus
+     */
+    DAYS {
+        @Override
+        public int score(Collection<Section> sections) {
+            return Integer.bitCount(getDays(sections));
+        }
+
+        @Override
+        public int bound(PotentialSchedule potentialSchedule) {
+            // Adding sections can only add days
+            return score(potentialSchedule.getSections());
+        }
+    },
+    /**
+     * Smallest total gap between meetings on the same day
+     */
+    GAPS {
+        @Override
+        public int score(Collection<Section> sections) {
+            int gaps = 0;
+            for (Day day : Day.values())
+                gaps += getGap(sections, day);
+            return gaps;
+        }
+
+        @Override
+        public int bound(PotentialSchedule potentialSchedule) {
+            // Gaps can only be filled on days a remaining section could still meet
+            int openDays = getDays(potentialSchedule.getRemainingSections());
+            Collection<Section> sections = potentialSchedule.getSections();
+
+            int gaps = 0;
+            for (Day day : Day.values()) {
+                if (day != Day.TBA && (openDays & (1 << day.getDow())) == 0)
+                    gaps += getGap(sections, day);
+            }
+            return gaps;
+        }
+    },
+    /**
+     * Latest first meeting of the week
+     */
+    START {
+        @Override
+        public int score(Collection<Section> sections) {
+            int earliest = MINUTES_PER_DAY;
+            for (Section section : sections) {
+                for (Meeting meeting : section.getMeetings()) {
+                    if (meeting.getDay() != Day.TBA && meeting.getStartTime().getMinuteOfDay() != -1)
+                        earliest = Math.min(earliest, meeting.getStartTime().getMinuteOfDay());
+                }
+            }
+            return -earliest;
+        }
+
+        @Override
+        public int bound(PotentialSchedule potentialSchedule) {
+            // Adding sections can only make the first meeting earlier
+            return score(potentialSchedule.getSections());
+        }
+    };
+
+    private static final int MINUTES_PER_DAY = 24 * 60;
+
+    /**
+     * Score a schedule
+     *
+     * @param sections Sections in the schedule
+     * @return Score, lower is better
+     */
+    public abstract int score(Collection<Section> sections);
+
+    /**
+     * Get the best score any completed schedule built from a partial schedule could have
+     *
+     * @param potentialSchedule Partial schedule
+     * @return Optimistic bound, lower is better
+     */
+    public abstract int bound(PotentialSchedule potentialSchedule);
+
+    /**
+     * Convert a request param to an objective
+     *
+     * @param objective Name of objective ( days, gaps, start )
+     * @return Schedule Objective
+     * @throws IllegalArgumentException Unknown objective
+     */
+    public static ScheduleObjective fromString(String objective) {
+        for (ScheduleObjective o : values()) {
+            if (o.name().equalsIgnoreCase(objective))
+                return o;
+        }
+        throw new IllegalArgumentException("Unknown rank '%s', expected one of days, gaps, start".formatted(objective));
+    }
+
+    /**
+     * Get the days a group of sections meet on
+     *
+     * @param sections Sections to check
+     * @return Bitmask of days of week
+     */
+    private static int getDays(Collection<Section> sections) {
+        int days = 0;
+        for (Section section : sections) {
+            for (Meeting meeting : section.getMeetings()) {
+                if (meeting.getDay() != Day.TBA)
+                    days |= 1 << meeting.getDow();
+            }
+        }
+        return days;
+    }
+
+    /**
+     * Get the total minutes between meetings on a day
+     *
+     * @param sections Sections to check
+     * @param day      Day of week
+     * @return Total gap in minutes
+     */
+    private static int getGap(Collection<Section> sections, Day day) {
+        // Get meetings on the day with known times
+        List<Meeting> meetings = new ArrayList<>();
+        for (Section section : sections) {
+            for (Meeting meeting : section.getMeetings()) {
+                if (meeting.getDay() == day && meeting.getStartTime().getMinuteOfDay() != -1)
+                    meetings.add(meeting);
+            }
+        }
+        meetings.sort(Comparator.comparingInt((m) -> m.getStartTime().getMinuteOfDay()));
+
+        // Sum idle time between the end of the latest meeting so far and the next meeting
+        int gap = 0;
+        int end = -1;
+        for (Meeting meeting : meetings) {
+            if (end != -1 && meeting.getStartTime().getMinuteOfDay() > end)
+                gap += meeting.getStartTime().getMinuteOfDay() - end;
+            end = Math.max(end, meeting.getEndTime().getMinuteOfDay());
+        }
+        return gap;
+    }
+}
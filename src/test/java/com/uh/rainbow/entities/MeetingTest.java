@@ -182,4 +182,41 @@ public class MeetingTest {
         }
     }
 
+    @Test
+    public void a_overlap_with_b_in_different_parts_of_term() {
+        try {
+            // Given
+            Meeting a = Meeting.createMeetings("M", "1100-1200p", "foo", "08/26-10/11").get(0);
+            Meeting b = Meeting.createMeetings("M", "1100-1200p", "foo", "10/14-12/20").get(0);
+
+            // When
+
+            // Then
+            assertFalse(a.conflictsWith(b));
+            assertFalse(b.conflictsWith(a));
+
+        } catch (ParseException e) {
+            fail(e);
+        }
+    }
+
+    @Test
+    public void a_single_day_overlap_with_b() {
+        try {
+            // Given
+            Meeting a = Meeting.createMeetings("M", "1100-1200p", "foo", "10/14").get(0);
+            Meeting b = Meeting.createMeetings("M", "1100-1200p", "foo", "10/14-12/20").get(0);
+            Meeting c = Meeting.createMeetings("M", "1100-1200p", "foo", "TBA").get(0);
+
+            // When
+
+            // Then
+            assertTrue(a.conflictsWith(b));
+            assertTrue(a.conflictsWith(c));     // TBA dates could be any day
+
+        } catch (ParseException e) {
+            fail(e);
+        }
+    }
+
 }
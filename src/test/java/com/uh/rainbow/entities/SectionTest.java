@@ -0,0 +1,107 @@
+package com.uh.rainbow.entities;
+
+import com.uh.rainbow.util.SourceURL;
+import org.junit.jupiter.api.Test;
+
+import java.text.ParseException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * <b>File:</b> SectionTest.java
+ * <p>
+ * <b>Description:</b> Unit Tests for section
+ *
+ * @author Derek Garcia
+ */
+public class SectionTest {
+
+    /**
+     * Create a section with meetings
+     *
+     * @param meetings Pairs of day and time strings
+     * @return Section
+     * @throws ParseException Fail to parse time
+     */
+    private static Section createSection(String... meetings) throws ParseException {
+        return createPartOfTermSection("08/26-12/20", meetings);
+    }
+
+    /**
+     * Create a section with meetings during part of the term
+     *
+     * @param dates    Date range of the meetings
+     * @param meetings Pairs of day and time strings
+     * @return Section
+     * @throws ParseException Fail to parse time
+     */
+    private static Section createPartOfTermSection(String dates, String... meetings) throws ParseException {
+        Section section = new Section(new SourceURL("MAN", "202510", "ICS"), 10000, "ICS 101", "001", "foo", "3", "foo", 0, 10);
+        for (int i = 0; i < meetings.length; i += 2)
+            section.addMeetings(Meeting.createMeetings(meetings[i], meetings[i + 1], "foo", dates));
+        return section;
+    }
+
+    @Test
+    public void conflict_on_any_shared_day() {
+        try {
+            // Given
+            Section a = createSection("MW", "0900-1015a", "F", "0100-0300p");
+            Section b = createSection("TR", "0900-1015a", "F", "0230-0320p");
+
+            // Then
+            assertTrue(a.conflictsWith(b));
+            assertTrue(b.conflictsWith(a));
+        } catch (ParseException e) {
+            fail(e);
+        }
+    }
+
+    @Test
+    public void no_conflict_on_different_days_or_times() {
+        try {
+            // Given
+            Section a = createSection("MWF", "0900-0950a");
+            Section b = createSection("TR", "0900-1015a", "MWF", "1000-1050a");
+
+            // Then
+            assertFalse(a.conflictsWith(b));
+            assertFalse(b.conflictsWith(a));
+        } catch (ParseException e) {
+            fail(e);
+        }
+    }
+
+    @Test
+    public void tba_never_conflicts() {
+        try {
+            // Given
+            Section a = createSection("TBA", "0900-1015a", "M", "TBA");
+            Section b = createSection("TBA", "0900-1015a", "M", "0900-1015a");
+
+            // Then
+            assertFalse(a.conflictsWith(b));
+            assertFalse(b.conflictsWith(a));
+        } catch (ParseException e) {
+            fail(e);
+        }
+    }
+
+    @Test
+    public void no_conflict_in_different_halves_of_term() {
+        try {
+            // Given
+            Section full = createSection("MW", "0900-1015a");
+            Section first = createPartOfTermSection("08/26-10/11", "MW", "0900-1015a");
+            Section second = createPartOfTermSection("10/14-12/20", "MW", "0900-1015a");
+
+            // Then
+            assertFalse(first.conflictsWith(second));
+            assertFalse(second.conflictsWith(first));
+            assertTrue(full.conflictsWith(first));
+            assertTrue(second.conflictsWith(full));
+        } catch (ParseException e) {
+            fail(e);
+        }
+    }
+}
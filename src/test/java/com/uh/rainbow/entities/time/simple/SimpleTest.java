@@ -0,0 +1,77 @@
+package com.uh.rainbow.entities.time.simple;
+
+import com.uh.rainbow.entities.time.TimeBlock;
+import org.junit.jupiter.api.Test;
+
+import java.text.ParseException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * <b>File:</b> SimpleTest.java
+ * <p>
+ * <b>Description:</b> Unit Tests for simple times and dates
+ *
+ * @author Derek Garcia
+ */
+public class SimpleTest {
+
+    @Test
+    public void parse_pm_time_block() {
+        try {
+            // When
+            TimeBlock timeBlock = new TimeBlock("1130-0100p", "08/26-12/20");
+
+            // Then
+            assertEquals("11:30 AM", timeBlock.getStartTime().toString());
+            assertEquals("01:00 PM", timeBlock.getEndTime().toString());
+            assertEquals(13 * 60, timeBlock.getEndTime().getMinuteOfDay());
+            assertEquals(90, timeBlock.getStartTime().duration(timeBlock.getEndTime(), TimeUnit.MINUTES));
+        } catch (ParseException e) {
+            fail(e);
+        }
+    }
+
+    @Test
+    public void parse_dates() {
+        try {
+            // When
+            SimpleDate start = new SimpleDate("8/26");
+            SimpleDate end = new SimpleDate("12/20");
+
+            // Then
+            assertEquals("08/26", start.toString());
+            assertEquals(238, start.getDayOfYear());
+            assertEquals(116, start.duration(end, TimeUnit.DAYS));
+            assertEquals(1, start.beforeOrEqual(end));
+            assertEquals("03/01", new SimpleDate("02/29").toString());   // rolls over like Date did
+        } catch (ParseException e) {
+            fail(e);
+        }
+    }
+
+    @Test
+    public void tba_can_not_be_compared() {
+        try {
+            // Given
+            SimpleTime tba = new SimpleTime("TBA");
+            SimpleTime time = new SimpleTime("0900");
+
+            // Then
+            assertEquals("TBA", tba.toString());
+            assertEquals(-1, tba.getMinuteOfDay());
+            assertEquals(-1, tba.beforeOrEqual(time));
+            assertEquals(-1, time.afterOrEqual(tba));
+        } catch (ParseException e) {
+            fail(e);
+        }
+    }
+
+    @Test
+    public void fail_to_parse_malformed() {
+        assertThrows(ParseException.class, () -> new SimpleTime("9am"));
+        assertThrows(ParseException.class, () -> new SimpleDate("0826"));
+        assertThrows(ParseException.class, () -> new SimpleDate("13/01"));
+    }
+}
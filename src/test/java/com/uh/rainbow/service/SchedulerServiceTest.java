@@ -0,0 +1,284 @@
+package com.uh.rainbow.service;
+
+import com.uh.rainbow.entities.Meeting;
+import com.uh.rainbow.entities.PotentialSchedule;
+import com.uh.rainbow.entities.Section;
+import com.uh.rainbow.util.SourceURL;
+import com.uh.rainbow.util.schedule.ScheduleObjective;
+import org.junit.jupiter.api.Test;
+
+import java.text.ParseException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * <b>File:</b> SchedulerServiceTest.java
+ * <p>
+ * <b>Description:</b> Unit Tests for the scheduler service
+ *
+ * @author Derek Garcia
+ */
+public class SchedulerServiceTest {
+
+    private static int crn = 10000;
+
+    /**
+     * Create a section with a single meeting
+     *
+     * @param cid        Course ID
+     * @param sid        Section number
+     * @param dayString  Day string formatted D*
+     * @param timeString Time formatted HHmm-HHmm(?:a|p)
+     * @return Section
+     * @throws ParseException Fail to parse time
+     */
+    private static Section createSection(String cid, String sid, String dayString, String timeString) throws ParseException {
+        Section section = new Section(new SourceURL("MAN", "202510", cid.split(" ")[0]), crn++, cid, sid, cid, "3", "foo", 0, 10);
+        section.addMeetings(Meeting.createMeetings(dayString, timeString, "foo", "08/26-12/20"));
+        return section;
+    }
+
+    /**
+     * Create a small catalog of courses with overlapping sections
+     *
+     * @return List of sections
+     * @throws ParseException Fail to parse time
+     */
+    private static List<Section> createCatalog() throws ParseException {
+        List<Section> sections = new ArrayList<>();
+        sections.add(createSection("ICS 101", "001", "MW", "0900-1015a"));
+        sections.add(createSection("ICS 101", "002", "TR", "0900-1015a"));
+        sections.add(createSection("ICS 101", "003", "MWF", "0130-0220p"));
+        sections.add(createSection("ICS 111", "001", "MW", "1000-1115a"));
+        sections.add(createSection("ICS 111", "002", "TR", "1200-0115p"));
+        sections.add(createSection("MATH 241", "001", "MWF", "0130-0220p"));
+        sections.add(createSection("MATH 241", "002", "TR", "0900-0950a"));
+        sections.add(createSection("MATH 241", "003", "TBA", "TBA"));
+        return sections;
+    }
+
+    /**
+     * Create a catalog large enough to be split across multiple tasks
+     *
+     * @return List of sections
+     * @throws ParseException Fail to parse time
+     */
+    private static List<Section> createLargeCatalog() throws ParseException {
+        String[] days = {"MW", "TR", "MWF", "F"};
+        String[] times = {"0800-0850a", "0900-1015a", "1030-1145a", "1200-0115p", "0130-0245p", "0300-0415p"};
+        List<Section> sections = new ArrayList<>();
+        for (int course = 0; course < 5; course++) {
+            for (int section = 0; section < times.length; section++)
+                sections.add(createSection("ICS 1%02d".formatted(course), "%03d".formatted(section), days[(course + section) % days.length], times[(course * 2 + section) % times.length]));
+        }
+        return sections;
+    }
+
+    /**
+     * Brute force every combination of one section per course
+     *
+     * @param sections Pool of sections
+     * @return Set of valid schedules
+     */
+    private static Set<Set<Section>> bruteForce(List<Section> sections) {
+        List<List<Section>> courses = new ArrayList<>();
+        sections.stream().map(Section::getCID).distinct().forEach(
+                (cid) -> courses.add(sections.stream().filter((s) -> s.getCID().equals(cid)).toList())
+        );
+
+        Set<Set<Section>> schedules = new HashSet<>();
+        schedules.add(new HashSet<>());
+        for (List<Section> course : courses) {
+            Set<Set<Section>> next = new HashSet<>();
+            for (Set<Section> schedule : schedules) {
+                for (Section section : course) {
+                    if (schedule.stream().anyMatch(section::conflictsWith))
+                        continue;
+                    Set<Section> copy = new HashSet<>(schedule);
+                    copy.add(section);
+                    next.add(copy);
+                }
+            }
+            schedules = next;
+        }
+        return schedules;
+    }
+
+    @Test
+    public void schedule_finds_every_valid_combination_once() {
+        try {
+            // Given
+            List<Section> sections = createCatalog();
+
+            // When
+            List<PotentialSchedule> schedules = new SchedulerService().schedule(sections);
+
+            // Then
+            Set<Set<Section>> found = new HashSet<>();
+            schedules.forEach((s) -> found.add(s.getSections()));
+            assertEquals(schedules.size(), found.size());   // no duplicates
+            assertEquals(bruteForce(sections), found);
+        } catch (ParseException e) {
+            fail(e);
+        }
+    }
+
+    @Test
+    public void schedule_with_unsolvable_course_finds_nothing() {
+        try {
+            // Given
+            List<Section> sections = new ArrayList<>();
+            sections.add(createSection("ICS 101", "001", "MW", "0900-1015a"));
+            sections.add(createSection("ICS 111", "001", "M", "1000-1115a"));
+
+            // When
+            List<PotentialSchedule> schedules = new SchedulerService().schedule(sections);
+
+            // Then
+            assertTrue(schedules.isEmpty());
+        } catch (ParseException e) {
+            fail(e);
+        }
+    }
+
+    @Test
+    public void parallel_schedule_matches_sequential_schedule() {
+        try {
+            // Given
+            List<Section> sections = createLargeCatalog();
+
+            // When
+            List<PotentialSchedule> sequential = new SchedulerService().schedule(sections, false);
+            List<PotentialSchedule> parallel = new SchedulerService().schedule(sections, true);
+
+            // Then
+            Set<Set<Section>> found = new HashSet<>();
+            parallel.forEach((s) -> found.add(s.getSections()));
+            assertEquals(parallel.size(), found.size());    // no duplicates across tasks
+            assertEquals(sequential.size(), parallel.size());
+            assertEquals(bruteForce(sections), found);
+        } catch (ParseException e) {
+            fail(e);
+        }
+    }
+
+    @Test
+    public void streamed_schedule_matches_collected_schedule() {
+        try {
+            // Given
+            List<Section> sections = createCatalog();
+
+            // When
+            Set<Set<Section>> streamed = new HashSet<>();
+            int numFound = new SchedulerService().schedule(sections, (schedule) -> streamed.add(schedule.getSections()));
+
+            // Then
+            assertEquals(streamed.size(), numFound);
+            assertEquals(bruteForce(sections), streamed);
+        } catch (ParseException e) {
+            fail(e);
+        }
+    }
+
+    @Test
+    public void paged_schedule_resumes_from_cursor() {
+        try {
+            // Given
+            List<Section> sections = createLargeCatalog();
+            List<PotentialSchedule> schedules = new SchedulerService().schedule(sections);
+
+            // When
+            List<Set<Section>> paged = new ArrayList<>();
+            SchedulerService.SchedulePage page = new SchedulerService().schedule(sections, null, 7);
+            page.schedules().forEach((s) -> paged.add(s.getSections()));
+            while (page.nextCursor() != null) {
+                page = new SchedulerService().schedule(sections, page.nextCursor(), 7);
+                page.schedules().forEach((s) -> paged.add(s.getSections()));
+            }
+
+            // Then
+            assertEquals(schedules.stream().map(PotentialSchedule::getSections).toList(), paged);
+        } catch (ParseException e) {
+            fail(e);
+        }
+    }
+
+    @Test
+    public void exhausted_page_has_no_cursor() {
+        try {
+            // Given
+            List<Section> sections = createLargeCatalog();
+            int numSchedules = new SchedulerService().schedule(sections).size();
+
+            // When
+            SchedulerService.SchedulePage partial = new SchedulerService().schedule(sections, null, numSchedules - 1);
+            SchedulerService.SchedulePage exact = new SchedulerService().schedule(sections, null, numSchedules);
+
+            // Then
+            assertEquals(numSchedules - 1, partial.schedules().size());
+            assertNotNull(partial.nextCursor());
+            assertEquals(numSchedules, exact.schedules().size());
+            assertNull(exact.nextCursor());
+            assertNull(new SchedulerService().schedule(sections, partial.nextCursor(), 1).nextCursor());
+        } catch (ParseException e) {
+            fail(e);
+        }
+    }
+
+    @Test
+    public void paged_schedule_with_unknown_cursor_fails() {
+        try {
+            // Given
+            List<Section> sections = createCatalog();
+
+            // When / Then
+            assertThrows(IllegalArgumentException.class, () -> new SchedulerService().schedule(sections, "1-2-3", 7));
+        } catch (ParseException e) {
+            fail(e);
+        }
+    }
+
+    @Test
+    public void paged_schedule_with_cursor_from_other_sections_fails() {
+        try {
+            // Given
+            List<Section> sections = createLargeCatalog();
+            String cursor = new SchedulerService().schedule(sections, null, 7).nextCursor();
+            // Drop a section the cursor doesn't reference, so only the fingerprint can catch it
+            Section unused = sections.stream().filter((s) -> !cursor.contains(s.getCRN())).findFirst().orElseThrow();
+            List<Section> changed = new ArrayList<>(sections);
+            changed.remove(unused);
+
+            // When / Then
+            assertNotNull(cursor);
+            assertThrows(IllegalArgumentException.class, () -> new SchedulerService().schedule(changed, cursor, 7));
+        } catch (ParseException e) {
+            fail(e);
+        }
+    }
+
+    @Test
+    public void ranked_schedule_matches_best_of_all_schedules() {
+        try {
+            // Given
+            List<Section> sections = createLargeCatalog();
+            Set<Set<Section>> all = bruteForce(sections);
+
+            for (ScheduleObjective objective : ScheduleObjective.values()) {
+                // When
+                List<PotentialSchedule> ranked = new SchedulerService().rank(sections, objective, 5);
+
+                // Then
+                List<Integer> expected = all.stream().map(objective::score).sorted().limit(5).toList();
+                List<Integer> actual = ranked.stream().map((s) -> objective.score(s.getSections())).toList();
+                assertEquals(expected, actual, objective.name());
+            }
+        } catch (ParseException e) {
+            fail(e);
+        }
+    }
+}
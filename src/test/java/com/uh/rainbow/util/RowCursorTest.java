@@ -0,0 +1,151 @@
+package com.uh.rainbow.util;
+
+import com.uh.rainbow.entities.Section;
+import com.uh.rainbow.exception.SectionNotFoundException;
+import com.uh.rainbow.util.cache.TermDictionary;
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * <b>File:</b> RowCursorTest.java
+ * <p>
+ * <b>Description:</b> Unit Tests for the row cursor
+ *
+ * @author Derek Garcia
+ */
+public class RowCursorTest {
+
+    private static final SourceURL SOURCE = new SourceURL("MAN", "202510", "ICS");
+
+    /**
+     * Load the example subject page
+     *
+     * @return HTML of the subject page
+     * @throws IOException Failed to read page
+     */
+    private static Document loadPage() throws IOException {
+        try (InputStream in = RowCursorTest.class.getResourceAsStream("/uh-subject-page.html")) {
+            return Jsoup.parse(in, "UTF-8", SOURCE.toString());
+        }
+    }
+
+    /**
+     * Create a cursor over a subject page
+     *
+     * @param doc HTML of the subject page
+     * @return Row Cursor
+     */
+    private static RowCursor createCursor(Document doc) {
+        return new RowCursor(SOURCE, Objects.requireNonNull(doc.selectFirst("tbody")).select("tr"));
+    }
+
+    /**
+     * Hash every section of a subject page
+     *
+     * @param doc HTML of the subject page
+     * @return Hash of each section
+     * @throws SectionNotFoundException Failed to find section
+     */
+    private static List<Long> hashSections(Document doc) throws SectionNotFoundException {
+        List<Long> hashes = new ArrayList<>();
+        RowCursor cur = createCursor(doc);
+        while (cur.findSection()) {
+            hashes.add(cur.hashSection());
+            cur.getSection();
+        }
+        return hashes;
+    }
+
+    @Test
+    public void parse_every_section_on_page() throws IOException, SectionNotFoundException {
+        // Given
+        RowCursor cur = createCursor(loadPage());
+
+        // When
+        List<Section> sections = new ArrayList<>();
+        while (cur.findSection())
+            sections.add(cur.getSection());
+
+        // Then
+        assertEquals(3, sections.size());
+        assertEquals("ICS 101", sections.get(0).getCID());
+        assertEquals(3, sections.get(0).getMeetings().size());
+        assertEquals(List.of("DTEC", "Restriction: Majors only"), sections.get(0).getAdditionalDetails());
+        assertEquals(3, sections.get(1).getMeetings().size());
+        assertEquals("ICS 111", sections.get(2).getCID());
+        assertEquals(25, sections.get(2).getSeatsAvailable());
+    }
+
+    @Test
+    public void section_hash_ignores_seat_counts() throws IOException, SectionNotFoundException {
+        // Given
+        Document original = loadPage();
+        Document seatsChanged = loadPage();
+        seatsChanged.select("tr").get(1).select("td").get(7).text("113");
+        seatsChanged.select("tr").get(1).select("td").get(8).text("7");
+        Document roomChanged = loadPage();
+        roomChanged.select("tr").get(2).select("td").get(11).select("abbr").attr("title", "POST 319");
+
+        // When
+        List<Long> originalHashes = hashSections(original);
+        List<Long> seatsChangedHashes = hashSections(seatsChanged);
+        List<Long> roomChangedHashes = hashSections(roomChanged);
+
+        // Then
+        assertEquals(originalHashes, seatsChangedHashes);
+        assertNotEquals(originalHashes.get(0), roomChangedHashes.get(0));
+        assertEquals(originalHashes.subList(1, 3), roomChangedHashes.subList(1, 3));
+    }
+
+    @Test
+    public void reused_section_only_updates_seat_counts() throws IOException, SectionNotFoundException {
+        // Given
+        RowCursor cur = createCursor(loadPage());
+        cur.findSection();
+        Section previous = cur.getSection();
+        Document seatsChanged = loadPage();
+        seatsChanged.select("tr").get(1).select("td").get(8).text("7");
+        RowCursor next = createCursor(seatsChanged);
+
+        // When
+        next.findSection();
+        Section reused = next.reuseSection(previous);
+
+        // Then
+        assertEquals(previous.getDetailsURL(), reused.getDetailsURL());
+        assertEquals(previous.getMeetings(), reused.getMeetings());
+        assertEquals(previous.getAdditionalDetails(), reused.getAdditionalDetails());
+        assertEquals(7, reused.getSeatsAvailable());
+        assertTrue(next.findSection());
+        assertEquals("002", next.getSection().getSectionNumber());     // consumed every row of the reused section
+    }
+
+    @Test
+    public void pages_of_a_term_share_strings() throws IOException, SectionNotFoundException {
+        // Given
+        TermDictionary dictionary = new TermDictionary();
+        RowCursor first = new RowCursor(SOURCE, new ElementRowSource(Objects.requireNonNull(loadPage().selectFirst("tbody")).select("tr")), dictionary);
+        RowCursor second = new RowCursor(SOURCE, new ElementRowSource(Objects.requireNonNull(loadPage().selectFirst("tbody")).select("tr")), dictionary);
+
+        // When
+        first.findSection();
+        Section a = first.getSection();
+        second.findSection();
+        Section b = second.getSection();
+
+        // Then
+        assertSame(a.getCID(), b.getCID());
+        assertSame(a.getInstructor(), b.getInstructor());
+        assertSame(a.getMeetings().get(0).getRoom(), b.getMeetings().get(0).getRoom());
+        assertTrue(dictionary.getNumDuplicates() > 0);
+    }
+}
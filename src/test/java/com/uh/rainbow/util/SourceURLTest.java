@@ -0,0 +1,258 @@
+package com.uh.rainbow.util;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import com.uh.rainbow.exception.NotModifiedException;
+import com.uh.rainbow.exception.UpstreamUnavailableException;
+import com.uh.rainbow.util.http.CircuitBreaker;
+import com.uh.rainbow.util.http.FetchResponse;
+import com.uh.rainbow.util.http.HttpClientFetcher;
+import com.uh.rainbow.util.http.TokenBucket;
+import org.jsoup.HttpStatusException;
+import org.jsoup.nodes.Document;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * <b>File:</b> SourceURLTest.java
+ * <p>
+ * <b>Description:</b> Unit Tests for querying a source url against a stub UH server
+ *
+ * @author Derek Garcia
+ */
+public class SourceURLTest {
+
+    private static final String ETAG = "\"v1\"";
+
+    /**
+     * Start a stub UH server that serves the example subject page gzipped with an ETag
+     *
+     * @param numFailures Number of requests to fail with 503 before serving the page
+     * @param numRequests Counter of requests received
+     * @return Running server
+     * @throws IOException Failed to start server
+     */
+    private static HttpServer startServer(int numFailures, AtomicInteger numRequests) throws IOException {
+        byte[] page;
+        try (InputStream in = SourceURLTest.class.getResourceAsStream("/uh-subject-page.html")) {
+            page = in.readAllBytes();
+        }
+
+        HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/uhdad/avail.classes", (HttpExchange exchange) -> {
+            int request = numRequests.getAndIncrement();
+            if (request < numFailures) {
+                exchange.sendResponseHeaders(503, -1);
+            } else if (ETAG.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+                exchange.sendResponseHeaders(304, -1);
+            } else {
+                ByteArrayOutputStream gzipped = new ByteArrayOutputStream();
+                try (GZIPOutputStream out = new GZIPOutputStream(gzipped)) {
+                    out.write(page);
+                }
+                exchange.getResponseHeaders().add("Content-Type", "text/html; charset=UTF-8");
+                exchange.getResponseHeaders().add("Content-Encoding", "gzip");
+                exchange.getResponseHeaders().add("ETag", ETAG);
+                exchange.sendResponseHeaders(200, gzipped.size());
+                try (OutputStream out = exchange.getResponseBody()) {
+                    gzipped.writeTo(out);
+                }
+            }
+            exchange.close();
+        });
+        server.start();
+        return server;
+    }
+
+    /**
+     * Point source urls at a stub server
+     *
+     * @param server Server to use
+     */
+    private static void useServer(HttpServer server) {
+        SourceURL.setHost("http://localhost:%s".formatted(server.getAddress().getPort()));
+        SourceURL.setFetcher(new HttpClientFetcher(Duration.ofSeconds(1), Duration.ofSeconds(5)));
+        SourceURL.setRetryPolicy(2, Duration.ofMillis(1));
+    }
+
+    @Test
+    public void query_parses_compressed_page_from_stub_server() throws IOException {
+        // Given
+        HttpServer server = startServer(0, new AtomicInteger());
+        useServer(server);
+
+        try {
+            // When
+            Document doc = new SourceURL("MAN", "202510", "ICS").query();
+
+            // Then
+            assertEquals("Class Availability - Information and Computer Sciences", doc.title());
+            assertTrue(new SourceURL("MAN", "202510", "ICS").toString().startsWith("http://localhost"));
+        } finally {
+            server.stop(0);
+            SourceURL.setHost(SourceURL.DEFAULT_HOST);
+        }
+    }
+
+    @Test
+    public void unchanged_page_is_reused() throws IOException {
+        // Given
+        HttpServer server = startServer(0, new AtomicInteger());
+        useServer(server);
+        SourceURL source = new SourceURL("MAN", "202510", "ICS");
+
+        try {
+            // When
+            long numNotModified = SourceURL.getNumNotModified();
+            Document first = source.query();
+            Document second = source.query();
+            source.fetch();
+
+            // Then
+            assertEquals(first.html(), second.html());
+            assertEquals(numNotModified + 1, SourceURL.getNumNotModified());
+            assertThrows(NotModifiedException.class, source::fetchIfModified);
+        } finally {
+            server.stop(0);
+            SourceURL.setHost(SourceURL.DEFAULT_HOST);
+        }
+    }
+
+    @Test
+    public void fetch_is_only_conditional_once_validators_are_saved() throws IOException, NotModifiedException {
+        // Given
+        HttpServer server = startServer(0, new AtomicInteger());
+        useServer(server);
+        SourceURL source = new SourceURL("MAN", "202510", "MATH");
+
+        try {
+            // When
+            source.fetch();
+            FetchResponse unsaved = source.fetchIfModified();
+            source.saveValidators(unsaved);
+
+            // Then
+            assertEquals(200, unsaved.statusCode());
+            assertThrows(NotModifiedException.class, source::fetchIfModified);
+        } finally {
+            server.stop(0);
+            SourceURL.setHost(SourceURL.DEFAULT_HOST);
+        }
+    }
+
+    @Test
+    public void overloaded_server_is_retried() throws IOException {
+        // Given
+        AtomicInteger numRequests = new AtomicInteger();
+        HttpServer server = startServer(2, numRequests);
+        useServer(server);
+
+        try {
+            // When
+            Document doc = new SourceURL("MAN", "202510", "ICS").query();
+
+            // Then
+            assertEquals(3, numRequests.get());
+            assertNotNull(doc.selectFirst("tbody"));
+        } finally {
+            server.stop(0);
+            SourceURL.setHost(SourceURL.DEFAULT_HOST);
+        }
+    }
+
+    @Test
+    public void failing_server_reports_status() throws IOException {
+        // Given
+        HttpServer server = startServer(10, new AtomicInteger());
+        useServer(server);
+
+        try {
+            // When / Then
+            HttpStatusException e = assertThrows(HttpStatusException.class, () -> new SourceURL("MAN", "202510", "ICS").query());
+            assertEquals(503, e.getStatusCode());
+        } finally {
+            server.stop(0);
+            SourceURL.setHost(SourceURL.DEFAULT_HOST);
+        }
+    }
+
+    @Test
+    public void open_breaker_rejects_without_sending() throws IOException {
+        // Given
+        AtomicInteger numRequests = new AtomicInteger();
+        HttpServer server = startServer(10, numRequests);
+        useServer(server);
+        SourceURL.setCircuitBreaker(new CircuitBreaker(1, Duration.ofMinutes(1)));
+        SourceURL source = new SourceURL("MAN", "202510", "ICS");
+
+        try {
+            // When
+            assertThrows(HttpStatusException.class, source::query);
+            int numSent = numRequests.get();
+
+            // Then
+            assertThrows(UpstreamUnavailableException.class, source::query);
+            assertEquals(numSent, numRequests.get());
+            assertEquals(CircuitBreaker.State.OPEN, SourceURL.getCircuitBreaker().getState());
+        } finally {
+            server.stop(0);
+            SourceURL.setHost(SourceURL.DEFAULT_HOST);
+            SourceURL.setCircuitBreaker(new CircuitBreaker(5, Duration.ofSeconds(30)));
+        }
+    }
+
+    @Test
+    public void every_retry_takes_a_rate_limit_permit() throws IOException {
+        // Given
+        AtomicInteger numRequests = new AtomicInteger();
+        HttpServer server = startServer(2, numRequests);
+        useServer(server);
+        SourceURL.setRateLimiter(new TokenBucket(1, 3, new TestClock()));
+
+        try {
+            // When
+            new SourceURL("MAN", "202510", "ICS").query();
+
+            // Then
+            assertEquals(3, numRequests.get());
+            assertEquals(Duration.ofSeconds(1), SourceURL.getRateLimiter().reserve());     // burst used up by the retries
+        } finally {
+            server.stop(0);
+            SourceURL.setHost(SourceURL.DEFAULT_HOST);
+            SourceURL.setRateLimiter(new TokenBucket(10, 20));
+        }
+    }
+
+    @Test
+    public void every_retry_is_reported_to_breaker() throws IOException {
+        // Given
+        AtomicInteger numRequests = new AtomicInteger();
+        HttpServer server = startServer(10, numRequests);
+        useServer(server);
+        SourceURL.setCircuitBreaker(new CircuitBreaker(2, Duration.ofMinutes(1)));
+
+        try {
+            // When
+            HttpStatusException e = assertThrows(HttpStatusException.class, () -> new SourceURL("MAN", "202510", "ICS").query());
+
+            // Then
+            assertEquals(503, e.getStatusCode());
+            assertEquals(2, numRequests.get());     // last retry rejected once the breaker opened
+            assertEquals(CircuitBreaker.State.OPEN, SourceURL.getCircuitBreaker().getState());
+        } finally {
+            server.stop(0);
+            SourceURL.setHost(SourceURL.DEFAULT_HOST);
+            SourceURL.setCircuitBreaker(new CircuitBreaker(5, Duration.ofSeconds(30)));
+        }
+    }
+}
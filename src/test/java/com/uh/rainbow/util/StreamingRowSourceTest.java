@@ -0,0 +1,149 @@
+package com.uh.rainbow.util;
+
+import com.uh.rainbow.entities.Meeting;
+import com.uh.rainbow.entities.Section;
+import com.uh.rainbow.exception.SectionNotFoundException;
+import org.jsoup.Jsoup;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * <b>File:</b> StreamingRowSourceTest.java
+ * <p>
+ * <b>Description:</b> Differential Tests that check reading course tables row by row gives the
+ * same sections as parsing the whole page
+ *
+ * @author Derek Garcia
+ */
+public class StreamingRowSourceTest {
+
+    private static final SourceURL SOURCE = new SourceURL("MAN", "202510", "ICS");
+
+    /**
+     * Load the example subject page
+     *
+     * @return HTML of the subject page
+     * @throws IOException Failed to read page
+     */
+    private static String loadPage() throws IOException {
+        try (InputStream in = StreamingRowSourceTest.class.getResourceAsStream("/uh-subject-page.html")) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    /**
+     * Parse every section of a table, writing each section and its hash as a line
+     *
+     * @param rows Rows of the table
+     * @return Every field of every section
+     * @throws SectionNotFoundException Failed to find section
+     */
+    private static List<String> parse(RowSource rows) throws SectionNotFoundException {
+        List<String> sections = new ArrayList<>();
+        RowCursor cur = new RowCursor(SOURCE, rows);
+        while (cur.findSection()) {
+            long hash = cur.hashSection();
+            Section section = cur.getSection();
+            StringBuilder line = new StringBuilder("%s|%s|%s|%s|%s|%s|%s|%s|%s|%s|%s|%s".formatted(
+                    hash, section.getCRN(), section.getCID(), section.getSectionNumber(), section.getTitle(),
+                    section.getCredits(), section.getInstructor(), section.getCurrEnrolled(),
+                    section.getSeatsAvailable(), section.getFailedMeetings(), section.getAdditionalDetails(),
+                    section.getDetailsURL()));
+            for (Meeting meeting : section.getMeetings())
+                line.append("|%s %s-%s %s-%s %s".formatted(meeting.getDay(), meeting.getStartTime(), meeting.getEndTime(),
+                        meeting.getStartDate(), meeting.getEndDate(), meeting.getRoom()));
+            sections.add(line.toString());
+        }
+        return sections;
+    }
+
+    /**
+     * Parse a page both ways
+     *
+     * @param html HTML of the page
+     * @return Sections from parsing the whole page, then sections from reading row by row
+     * @throws SectionNotFoundException Failed to find section
+     */
+    private static List<List<String>> parseBothWays(String html) throws SectionNotFoundException {
+        RowSource dom = new ElementRowSource(Objects.requireNonNull(Jsoup.parse(html, SOURCE.toString()).selectFirst("tbody")).select("tr"));
+        RowSource stream = new StreamingRowSource(new StringReader(html), SOURCE.toString());
+        return List.of(parse(dom), parse(stream));
+    }
+
+    @Test
+    public void stream_matches_dom_on_example_page() throws IOException, SectionNotFoundException {
+        // Given
+        String html = loadPage();
+
+        // When
+        List<List<String>> results = parseBothWays(html);
+
+        // Then
+        assertEquals(3, results.get(0).size());
+        assertEquals(results.get(0), results.get(1));
+    }
+
+    @Test
+    public void stream_matches_dom_without_closing_tags() throws IOException, SectionNotFoundException {
+        // Given
+        String html = loadPage()
+                .replace("</td>", "")
+                .replace("</tr>", "")
+                .replace("<tbody>", "")
+                .replace("</tbody>", "");
+
+        // When
+        List<List<String>> results = parseBothWays(html);
+
+        // Then
+        assertEquals(3, results.get(0).size());
+        assertEquals(results.get(0), results.get(1));
+    }
+
+    @Test
+    public void stream_ignores_markup_outside_first_table_body() throws IOException, SectionNotFoundException {
+        // Given
+        String html = loadPage()
+                .replace("<body>", "<body><!-- <table><tr><td>ignored</td></tr></table> --><script>var t = '<table>';</script>")
+                .replace("<title>", "<title>&lt;table&gt; ")
+                .replace("<tbody>", "<thead><tr><td>DTEC</td><td>1</td><td>ICS 999</td><td>001</td><td>Head</td><td>3</td><td><abbr title=\"X\">X</abbr></td><td>1</td><td>1</td><td>TBA</td><td>TBA</td><td><abbr title=\"X\">X</abbr></td><td>TBA</td></tr></thead><tbody>")
+                .replace("Tools for the Information Age", "Tools &amp; the <i>Information</i> Age")
+                .replace("</table>", "</table><table><tbody><tr><td></td><td>99999</td><td>ICS 999</td><td>001</td><td>Other</td><td>3</td><td><abbr title=\"X\">X</abbr></td><td>1</td><td>1</td><td>TBA</td><td>TBA</td><td><abbr title=\"X\">X</abbr></td><td>TBA</td></tr></tbody></table>");
+
+        // When
+        List<List<String>> results = parseBothWays(html);
+
+        // Then
+        assertEquals(3, results.get(0).size());
+        assertTrue(results.get(0).get(0).contains("Tools & the Information Age"));
+        assertEquals(results.get(0), results.get(1));
+    }
+
+    @Test
+    public void stream_reads_rows_lazily() throws IOException {
+        // Given
+        StreamingRowSource rows = new StreamingRowSource(new StringReader(loadPage()), SOURCE.toString());
+
+        // When / Then
+        assertEquals(0, Objects.requireNonNull(rows.peek(0)).size());     // header row only has th cells
+        assertEquals("ICS 101", Objects.requireNonNull(rows.peek(1)).text(2));
+        assertSame(rows.peek(1), rows.peek(1));
+        rows.pop();
+        rows.pop();
+        rows.pop();
+        rows.pop();
+        rows.pop();
+        assertNull(rows.peek(1));
+        rows.pop();
+        assertTrue(rows.isEmpty());
+    }
+}
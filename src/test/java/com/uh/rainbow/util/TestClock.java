@@ -0,0 +1,37 @@
+package com.uh.rainbow.util;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+/**
+ * <b>File:</b> TestClock.java
+ * <p>
+ * <b>Description:</b> Clock that only moves when told to
+ *
+ * @author Derek Garcia
+ */
+public class TestClock extends Clock {
+    private Instant now = Instant.EPOCH;
+
+    public void advance(Duration duration) {
+        this.now = this.now.plus(duration);
+    }
+
+    @Override
+    public ZoneId getZone() {
+        return ZoneOffset.UTC;
+    }
+
+    @Override
+    public Clock withZone(ZoneId zone) {
+        return this;
+    }
+
+    @Override
+    public Instant instant() {
+        return this.now;
+    }
+}
@@ -0,0 +1,161 @@
+package com.uh.rainbow.util.cache;
+
+import com.uh.rainbow.entities.Section;
+import com.uh.rainbow.util.SourceURL;
+import com.uh.rainbow.util.TestClock;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * <b>File:</b> SectionCacheTest.java
+ * <p>
+ * <b>Description:</b> Unit Tests for the section cache
+ *
+ * @author Derek Garcia
+ */
+public class SectionCacheTest {
+
+    /**
+     * Create a list of sections for a subject
+     *
+     * @param source      Source URL of subject
+     * @param numSections Number of sections to create
+     * @return List of sections
+     */
+    private static List<Section> createSections(SourceURL source, int numSections) {
+        List<Section> sections = new ArrayList<>();
+        for (int i = 0; i < numSections; i++)
+            sections.add(new Section(source, 10000 + i, "ICS 101", "%03d".formatted(i), "foo", "3", "foo", 0, 10));
+        return sections;
+    }
+
+    @Test
+    public void cached_sections_are_returned_until_expired() {
+        // Given
+        TestClock clock = new TestClock();
+        SectionCache cache = new SectionCache(Duration.ofMinutes(10), 100, clock);
+        SourceURL source = new SourceURL("MAN", "202510", "ICS");
+        List<Section> sections = createSections(source, 3);
+
+        // When
+        assertNull(cache.get(source));
+        cache.put(new SourceURL("MAN", "202510", "ICS"), sections);
+        clock.advance(Duration.ofMinutes(10));
+        SectionTable hit = cache.get(source);
+        clock.advance(Duration.ofSeconds(1));
+        SectionTable expired = cache.get(source);
+
+        // Then
+        assertEquals(sections, hit.getSections());
+        assertNull(expired);
+        SectionCache.Stats stats = cache.getStats();
+        assertEquals(1, stats.hits());
+        assertEquals(2, stats.misses());
+        assertEquals(0, stats.entries());
+        assertEquals(0, stats.weight());
+    }
+
+    @Test
+    public void least_recently_used_entries_are_evicted_over_max_weight() {
+        // Given
+        SectionCache cache = new SectionCache(Duration.ofMinutes(10), 10);
+        SourceURL ics = new SourceURL("MAN", "202510", "ICS");
+        SourceURL math = new SourceURL("MAN", "202510", "MATH");
+        SourceURL phys = new SourceURL("MAN", "202510", "PHYS");
+
+        // When
+        cache.put(ics, createSections(ics, 4));
+        cache.put(math, createSections(math, 4));
+        cache.get(ics);     // ics is now most recently used
+        cache.put(phys, createSections(phys, 4));
+
+        // Then
+        assertNotNull(cache.get(ics));
+        assertNull(cache.get(math));
+        assertNotNull(cache.get(phys));
+        SectionCache.Stats stats = cache.getStats();
+        assertEquals(1, stats.evictions());
+        assertEquals(2, stats.entries());
+        assertEquals(8, stats.weight());
+    }
+
+    @Test
+    public void expired_sections_are_served_as_stale_until_max_stale() {
+        // Given
+        TestClock clock = new TestClock();
+        SectionCache cache = new SectionCache(Duration.ofMinutes(10), Duration.ofMinutes(5), 100, clock);
+        SourceURL source = new SourceURL("MAN", "202510", "ICS");
+        List<Section> sections = createSections(source, 3);
+        cache.put(source, sections);
+
+        // When
+        clock.advance(Duration.ofMinutes(1));
+        SectionCache.Lookup fresh = cache.lookup(source);
+        clock.advance(Duration.ofMinutes(12));
+        SectionCache.Lookup stale = cache.lookup(source);
+        SectionTable expired = cache.get(source);
+        clock.advance(Duration.ofMinutes(3));
+        SectionCache.Lookup dropped = cache.lookup(source);
+
+        // Then
+        assertFalse(fresh.stale());
+        assertEquals(Duration.ofMinutes(1), fresh.age());
+        assertTrue(stale.stale());
+        assertEquals(Duration.ofMinutes(13), stale.age());
+        assertEquals(sections, stale.table().getSections());
+        assertNull(expired);    // only lookups serve stale sections
+        assertNull(dropped);
+        SectionCache.Stats stats = cache.getStats();
+        assertEquals(2, stats.hits());
+        assertEquals(1, stats.staleHits());
+        assertEquals(2, stats.misses());
+        assertEquals(0, stats.entries());
+    }
+
+    @Test
+    public void restored_sections_keep_the_age_of_the_snapshot() {
+        // Given
+        TestClock clock = new TestClock();
+        SectionCache cache = new SectionCache(Duration.ofMinutes(10), Duration.ofHours(1), 100, clock);
+        SourceURL source = new SourceURL("MAN", "202510", "ICS");
+        List<Section> sections = createSections(source, 3);
+        Instant savedAt = clock.instant();
+        clock.advance(Duration.ofMinutes(30));
+
+        // When
+        boolean restored = cache.restore(source, sections, savedAt);
+        SectionCache.Lookup lookup = cache.lookup(source);
+
+        // Then
+        assertTrue(restored);
+        assertTrue(lookup.stale());
+        assertEquals(Duration.ofMinutes(30), lookup.age());
+        assertEquals(sections, lookup.table().getSections());
+    }
+
+    @Test
+    public void restored_sections_do_not_overwrite_newer_sections() {
+        // Given
+        TestClock clock = new TestClock();
+        SectionCache cache = new SectionCache(Duration.ofMinutes(10), Duration.ofHours(1), 100, clock);
+        SourceURL source = new SourceURL("MAN", "202510", "ICS");
+        Instant savedAt = clock.instant();
+        clock.advance(Duration.ofMinutes(30));
+        cache.put(source, createSections(source, 2));
+
+        // When
+        boolean restored = cache.restore(source, createSections(source, 3), savedAt);
+        SectionCache.Lookup lookup = cache.lookup(source);
+
+        // Then
+        assertFalse(restored);
+        assertFalse(lookup.stale());
+        assertEquals(2, lookup.table().size());
+    }
+}
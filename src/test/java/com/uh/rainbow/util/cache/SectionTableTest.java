@@ -0,0 +1,114 @@
+package com.uh.rainbow.util.cache;
+
+import com.uh.rainbow.entities.Meeting;
+import com.uh.rainbow.entities.Section;
+import com.uh.rainbow.exception.SectionNotFoundException;
+import com.uh.rainbow.util.ElementRowSource;
+import com.uh.rainbow.util.RowCursor;
+import com.uh.rainbow.util.SourceURL;
+import com.uh.rainbow.util.filter.CourseFilter;
+import org.jsoup.Jsoup;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.text.ParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * <b>File:</b> SectionTableTest.java
+ * <p>
+ * <b>Description:</b> Unit Tests for the section column store
+ *
+ * @author Derek Garcia
+ */
+public class SectionTableTest {
+
+    private static final SourceURL SOURCE = new SourceURL("MAN", "202510", "ICS");
+
+    /**
+     * Parse the sections of the example subject page, plus a section with TBA and part of term meetings
+     *
+     * @return List of sections
+     * @throws IOException              Failed to read page
+     * @throws SectionNotFoundException Failed to find section
+     * @throws ParseException           Failed to parse meeting
+     */
+    private static List<Section> createSections() throws IOException, SectionNotFoundException, ParseException {
+        List<Section> sections = new ArrayList<>();
+        try (InputStream in = SectionTableTest.class.getResourceAsStream("/uh-subject-page.html")) {
+            RowCursor cur = new RowCursor(SOURCE, Objects.requireNonNull(Jsoup.parse(in, "UTF-8", SOURCE.toString()).selectFirst("tbody")).select("tr"));
+            while (cur.findSection())
+                sections.add(cur.getSection());
+        }
+
+        Section section = new Section(SOURCE, 75999, "ICS 499", "002", "Topics", "V", "D GARCIA", 3, 0);
+        section.addMeetings(Meeting.createMeetings("TBA", "TBA", "ONLINE ASYNCHRONOUS", "08/26-10/11"));
+        section.addMeetings(Meeting.createMeetings("MW", "0130-0245p", "POST 318", "10/14-12/20"));
+        section.addDetails("Restriction: ICS majors only");
+        section.addFailedMeeting();
+        sections.add(section);
+        return sections;
+    }
+
+    /**
+     * Write every field of a section as a line
+     *
+     * @param section Section to write
+     * @return Every field of the section
+     */
+    private static String render(Section section) {
+        StringBuilder line = new StringBuilder("%s|%s|%s|%s|%s|%s|%s|%s|%s|%s|%s".formatted(
+                section.getCRN(), section.getCID(), section.getSectionNumber(), section.getTitle(),
+                section.getCredits(), section.getInstructor(), section.getCurrEnrolled(),
+                section.getSeatsAvailable(), section.getFailedMeetings(), section.getAdditionalDetails(),
+                section.getDetailsURL()));
+        for (Meeting meeting : section.getMeetings())
+            line.append("|%s %s-%s %s-%s %s".formatted(meeting.getDay(), meeting.getStartTime(), meeting.getEndTime(),
+                    meeting.getStartDate(), meeting.getEndDate(), meeting.getRoom()));
+        return line.toString();
+    }
+
+    @Test
+    public void table_recreates_every_section() throws IOException, SectionNotFoundException, ParseException {
+        // Given
+        List<Section> sections = createSections();
+
+        // When
+        SectionTable table = new SectionTable(SOURCE, sections);
+
+        // Then
+        assertEquals(sections.size(), table.size());
+        assertEquals(sections.stream().map(SectionTableTest::render).toList(),
+                table.getSections().stream().map(SectionTableTest::render).toList());
+        assertTrue(table.getSection(0).conflictsWith(sections.get(0)));
+        assertTrue(table.getNumStrings() < sections.size() * 6);    // repeated strings are stored once
+    }
+
+    @Test
+    public void table_filters_same_as_sections() throws IOException, SectionNotFoundException, ParseException {
+        // Given
+        List<Section> sections = createSections();
+        SectionTable table = new SectionTable(SOURCE, sections);
+        List<CourseFilter> filters = List.of(
+                new CourseFilter.Builder().build(),
+                new CourseFilter.Builder().setCourseNumbers(List.of("1**")).build(),
+                new CourseFilter.Builder().setCRNs(List.of("75999")).setSubjects(new ArrayList<>(List.of("MATH"))).build(),
+                new CourseFilter.Builder().setDays(List.of("!M")).build(),
+                new CourseFilter.Builder().setStartAfter("1000").setEndBefore("1500").build(),
+                new CourseFilter.Builder().setOnline("true").build(),
+                new CourseFilter.Builder().setSynchronous("false").build(),
+                new CourseFilter.Builder().setInstructors(List.of("garcia")).setKeywords(List.of("topic")).build()
+        );
+
+        // Then
+        for (CourseFilter filter : filters) {
+            for (int row = 0; row < table.size(); row++)
+                assertEquals(filter.validSection(sections.get(row)), filter.validSection(table, row));
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.uh.rainbow.util.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * <b>File:</b> SingleFlightTest.java
+ * <p>
+ * <b>Description:</b> Unit Tests for single flight request coalescing
+ *
+ * @author Derek Garcia
+ */
+public class SingleFlightTest {
+
+    @Test
+    public void concurrent_loads_share_one_result() throws InterruptedException, ExecutionException {
+        // Given
+        SingleFlight<String, Integer> flight = new SingleFlight<>();
+        AtomicInteger numLoads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        // When
+        List<Future<Integer>> results = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            results.add(executor.submit(() -> flight.load("ICS", () -> {
+                numLoads.incrementAndGet();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    throw new IOException(e);
+                }
+                return 42;
+            })));
+        }
+        // Wait for every caller to join the flight
+        while (flight.getNumShared() < 7)
+            Thread.sleep(1);
+        release.countDown();
+
+        // Then
+        for (Future<Integer> result : results)
+            assertEquals(42, result.get());
+        assertEquals(1, numLoads.get());
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(1, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void failed_load_is_not_reused() throws IOException {
+        // Given
+        SingleFlight<String, Integer> flight = new SingleFlight<>();
+
+        // When / Then
+        assertThrows(IOException.class, () -> flight.load("ICS", () -> {
+            throw new IOException("foo");
+        }));
+        assertEquals(42, flight.load("ICS", () -> 42));
+    }
+
+    @Test
+    public void waiters_get_error_of_failed_load() throws InterruptedException, IOException {
+        // Given
+        SingleFlight<String, Integer> flight = new SingleFlight<>();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        // When
+        Future<Integer> loader = executor.submit(() -> flight.load("ICS", () -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                throw new IOException(e);
+            }
+            throw new OutOfMemoryError("foo");
+        }));
+        started.await();
+        Future<Integer> waiter = executor.submit(() -> flight.load("ICS", () -> -1));
+        // Wait for the waiter to join the flight
+        while (flight.getNumShared() < 1)
+            Thread.sleep(1);
+        release.countDown();
+
+        // Then
+        ExecutionException loaderError = assertThrows(ExecutionException.class, () -> loader.get(1, TimeUnit.SECONDS));
+        ExecutionException waiterError = assertThrows(ExecutionException.class, () -> waiter.get(1, TimeUnit.SECONDS));
+        assertInstanceOf(OutOfMemoryError.class, loaderError.getCause());
+        assertInstanceOf(OutOfMemoryError.class, waiterError.getCause());
+        assertEquals(42, flight.load("ICS", () -> 42));
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(1, TimeUnit.SECONDS));
+    }
+}
@@ -0,0 +1,84 @@
+package com.uh.rainbow.util.cache;
+
+import com.uh.rainbow.dto.identifier.IdentifierDTO;
+import com.uh.rainbow.entities.Meeting;
+import com.uh.rainbow.entities.Section;
+import com.uh.rainbow.util.SourceURL;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * <b>File:</b> TermSnapshotStoreTest.java
+ * <p>
+ * <b>Description:</b> Unit Tests for the term snapshot store
+ *
+ * @author Derek Garcia
+ */
+public class TermSnapshotStoreTest {
+
+    @Test
+    public void saved_snapshot_is_restored() throws IOException, ParseException {
+        // Given
+        Path directory = Files.createTempDirectory("snapshots");
+        TermSnapshotStore store = new TermSnapshotStore(directory);
+        SourceURL source = new SourceURL("MAN", "202510", "ICS");
+        Section section = new Section(source, 75380, "ICS 101", "001", "Tools for the Information Age", "4", "D GARCIA", 12, 3);
+        section.addMeetings(Meeting.createMeetings("TR", "1030-1145a", "POST 127", "08/26-12/20"));
+        section.addMeetings(Meeting.createMeetings("TBA", "TBA", "TBA", "TBA"));
+        section.addDetails("Restricted to majors");
+        section.addFailedMeeting();
+        Map<String, List<Section>> pages = new LinkedHashMap<>();
+        pages.put("ICS", List.of(section));
+        List<IdentifierDTO> subjects = List.of(new IdentifierDTO("ICS", "Information and Computer Sciences"), new IdentifierDTO("MATH", "Mathematics"));
+
+        // When
+        assertNull(store.load("MAN", "202510"));
+        store.save("MAN", "202510", subjects, pages);
+        TermSnapshotStore.Snapshot snapshot = store.load("MAN", "202510");
+
+        // Then
+        assertEquals(subjects, snapshot.subjects());
+        assertEquals(1, snapshot.sections().get("ICS").size());
+        Section restored = snapshot.sections().get("ICS").get(0);
+        assertEquals(section.getDetailsURL(), restored.getDetailsURL());
+        assertEquals(section.getTitle(), restored.getTitle());
+        assertEquals(section.getInstructor(), restored.getInstructor());
+        assertEquals(section.getCurrEnrolled(), restored.getCurrEnrolled());
+        assertEquals(section.getSeatsAvailable(), restored.getSeatsAvailable());
+        assertEquals(section.getFailedMeetings(), restored.getFailedMeetings());
+        assertEquals(section.getAdditionalDetails(), restored.getAdditionalDetails());
+        assertEquals(section.getMeetings().size(), restored.getMeetings().size());
+        for (int i = 0; i < section.getMeetings().size(); i++) {
+            Meeting expected = section.getMeetings().get(i);
+            Meeting actual = restored.getMeetings().get(i);
+            assertEquals(expected.getDay(), actual.getDay());
+            assertEquals(expected.getStartTime().toString(), actual.getStartTime().toString());
+            assertEquals(expected.getEndTime().getMinuteOfDay(), actual.getEndTime().getMinuteOfDay());
+            assertEquals(expected.getStartDate().toString(), actual.getStartDate().toString());
+            assertEquals(expected.getEndDate().toString(), actual.getEndDate().toString());
+            assertEquals(expected.getRoom(), actual.getRoom());
+        }
+        assertTrue(restored.conflictsWith(section));
+    }
+
+    @Test
+    public void corrupt_snapshot_fails_to_load() throws IOException {
+        // Given
+        Path directory = Files.createTempDirectory("snapshots");
+        Files.write(directory.resolve("MAN-202510.snapshot"), new byte[]{0x52, 0x42, 0x4E, 0x53, 0, 0, 0, 1, 0});
+        TermSnapshotStore store = new TermSnapshotStore(directory);
+
+        // When / Then
+        assertThrows(IOException.class, () -> store.load("MAN", "202510"));
+        assertThrows(IOException.class, () -> store.load("MAN", "../202510"));
+    }
+}
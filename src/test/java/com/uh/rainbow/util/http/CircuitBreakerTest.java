@@ -0,0 +1,111 @@
+package com.uh.rainbow.util.http;
+
+import com.uh.rainbow.exception.UpstreamUnavailableException;
+import com.uh.rainbow.util.TestClock;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * <b>File:</b> CircuitBreakerTest.java
+ * <p>
+ * <b>Description:</b> Unit Tests for the circuit breaker
+ *
+ * @author Derek Garcia
+ */
+public class CircuitBreakerTest {
+
+    private static final String URL = "http://localhost";
+
+    /**
+     * Send a request through the breaker
+     *
+     * @param breaker Breaker to use
+     * @param success Outcome of the request
+     * @throws UpstreamUnavailableException Request rejected
+     */
+    private static void send(CircuitBreaker breaker, boolean success) throws UpstreamUnavailableException {
+        breaker.acquire(URL);
+        breaker.record(success);
+    }
+
+    @Test
+    public void consecutive_failures_open_breaker() throws UpstreamUnavailableException {
+        // Given
+        CircuitBreaker breaker = new CircuitBreaker(3, Duration.ofSeconds(30), new TestClock());
+
+        // When
+        send(breaker, false);
+        send(breaker, false);
+        send(breaker, true);    // resets count
+        send(breaker, false);
+        send(breaker, false);
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        send(breaker, false);
+
+        // Then
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        UpstreamUnavailableException e = assertThrows(UpstreamUnavailableException.class, () -> breaker.acquire(URL));
+        assertEquals(Duration.ofSeconds(30), e.getRetryAfter());
+        assertEquals(1, breaker.getNumRejected());
+    }
+
+    @Test
+    public void single_trial_request_closes_breaker() throws UpstreamUnavailableException {
+        // Given
+        TestClock clock = new TestClock();
+        CircuitBreaker breaker = new CircuitBreaker(1, Duration.ofSeconds(30), clock);
+        send(breaker, false);
+
+        // When
+        clock.advance(Duration.ofSeconds(30));
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+        breaker.acquire(URL);
+
+        // Then
+        assertThrows(UpstreamUnavailableException.class, () -> breaker.acquire(URL));   // trial already in flight
+        breaker.record(true);
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        send(breaker, true);
+    }
+
+    @Test
+    public void success_sent_before_opening_does_not_close_breaker() throws UpstreamUnavailableException {
+        // Given
+        TestClock clock = new TestClock();
+        CircuitBreaker breaker = new CircuitBreaker(1, Duration.ofSeconds(30), clock);
+        breaker.acquire(URL);   // slow requests sent while closed
+        breaker.acquire(URL);
+        send(breaker, false);
+
+        // When
+        breaker.record(true);
+        CircuitBreaker.State open = breaker.getState();
+        clock.advance(Duration.ofSeconds(30));
+        breaker.record(true);
+
+        // Then
+        assertEquals(CircuitBreaker.State.OPEN, open);
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+        breaker.acquire(URL);   // trial request is still let through
+    }
+
+    @Test
+    public void failed_trial_request_reopens_breaker() throws UpstreamUnavailableException {
+        // Given
+        TestClock clock = new TestClock();
+        CircuitBreaker breaker = new CircuitBreaker(5, Duration.ofSeconds(30), clock);
+        for (int i = 0; i < 5; i++)
+            send(breaker, false);
+
+        // When
+        clock.advance(Duration.ofSeconds(31));
+        send(breaker, false);
+
+        // Then
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        assertThrows(UpstreamUnavailableException.class, () -> breaker.acquire(URL));
+    }
+}
@@ -0,0 +1,70 @@
+package com.uh.rainbow.util.http;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * <b>File:</b> ConcurrencyLimitedFetcherTest.java
+ * <p>
+ * <b>Description:</b> Unit Tests for capping requests in flight
+ *
+ * @author Derek Garcia
+ */
+public class ConcurrencyLimitedFetcherTest {
+
+    @Test
+    public void fetch_never_exceeds_max_concurrent() throws InterruptedException, ExecutionException {
+        // Given
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        PageFetcher slow = (url, headers) -> {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            inFlight.decrementAndGet();
+            return new FetchResponse(url, 200, Map.of(), new byte[0]);
+        };
+        ConcurrencyLimitedFetcher fetcher = new ConcurrencyLimitedFetcher(slow, 2);
+
+        // When
+        List<Future<FetchResponse>> results = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < 10; i++) {
+                String url = "http://localhost/%s".formatted(i);
+                results.add(executor.submit(() -> fetcher.fetch(url, Map.of())));
+            }
+        }
+
+        // Then
+        for (Future<FetchResponse> result : results)
+            assertEquals(200, result.get().statusCode());
+        assertTrue(maxInFlight.get() <= 2);
+        assertEquals(0, fetcher.getNumWaiting());
+    }
+
+    @Test
+    public void failed_fetch_releases_permit() {
+        // Given
+        ConcurrencyLimitedFetcher fetcher = new ConcurrencyLimitedFetcher((url, headers) -> {
+            throw new IOException("down");
+        }, 1);
+
+        // When / Then
+        assertThrows(IOException.class, () -> fetcher.fetch("http://localhost", Map.of()));
+        assertThrows(IOException.class, () -> fetcher.fetch("http://localhost", Map.of()));     // would block if permit leaked
+    }
+}
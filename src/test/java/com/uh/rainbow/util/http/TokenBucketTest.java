@@ -0,0 +1,55 @@
+package com.uh.rainbow.util.http;
+
+import com.uh.rainbow.util.TestClock;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * <b>File:</b> TokenBucketTest.java
+ * <p>
+ * <b>Description:</b> Unit Tests for the token bucket rate limiter
+ *
+ * @author Derek Garcia
+ */
+public class TokenBucketTest {
+
+    @Test
+    public void burst_is_free_then_callers_wait_their_turn() {
+        // Given
+        TestClock clock = new TestClock();
+        TokenBucket bucket = new TokenBucket(10, 3, clock);
+
+        // When / Then
+        assertEquals(Duration.ZERO, bucket.reserve());
+        assertEquals(Duration.ZERO, bucket.reserve());
+        assertEquals(Duration.ZERO, bucket.reserve());
+        assertEquals(Duration.ofMillis(100), bucket.reserve());
+        assertEquals(Duration.ofMillis(200), bucket.reserve());
+    }
+
+    @Test
+    public void idle_bucket_refills_up_to_burst() {
+        // Given
+        TestClock clock = new TestClock();
+        TokenBucket bucket = new TokenBucket(10, 2, clock);
+        bucket.reserve();
+        bucket.reserve();
+
+        // When
+        clock.advance(Duration.ofMinutes(1));
+
+        // Then
+        assertEquals(Duration.ZERO, bucket.reserve());
+        assertEquals(Duration.ZERO, bucket.reserve());
+        assertEquals(Duration.ofMillis(100), bucket.reserve());
+    }
+
+    @Test
+    public void invalid_rate_is_rejected() {
+        assertThrows(IllegalArgumentException.class, () -> new TokenBucket(0, 1));
+        assertThrows(IllegalArgumentException.class, () -> new TokenBucket(1, 0));
+    }
+}